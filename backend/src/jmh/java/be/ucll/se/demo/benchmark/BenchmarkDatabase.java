@@ -0,0 +1,85 @@
+package be.ucll.se.demo.benchmark;
+
+import be.ucll.se.demo.JanvhanssenBackendApplication;
+import be.ucll.se.demo.repository.CarRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Start de applicatie zonder webserver op een eigen H2-database en vult die
+ * met auto's en huurperiodes, voor benchmarks die door de echte
+ * repositories en services moeten.
+ */
+final class BenchmarkDatabase {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private BenchmarkDatabase() {
+    }
+
+    static ConfigurableApplicationContext start(String name) {
+        return new SpringApplicationBuilder(JanvhanssenBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.be.ucll.se.demo=WARN",
+                        "logging.level.org.hibernate.SQL=WARN")
+                .run();
+    }
+
+    /**
+     * Maakt de tabellen leeg en voegt {@code cars} auto's toe met elk één
+     * huurperiode van 3 dagen, gespreid over 2025. Rechtstreeks via JDBC in
+     * batches; via JPA duurt het seeden langer dan de meting.
+     */
+    static void seedCarsAndRents(ConfigurableApplicationContext context, int cars) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("DELETE FROM rent");
+        jdbc.update("DELETE FROM rental");
+        jdbc.update("DELETE FROM car");
+
+        String[] types = { "SUV", "SEDAN", "HATCHBACK" };
+        List<Object[]> carRows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < cars; i++) {
+            carRows.add(new Object[] { "Brand" + (i % 20), "Model" + (i % 200), String.format("BEN-%06d", i),
+                    "owner" + (i % 1000) + "@example.com", types[i % 3], 4 + i % 4, i % 3, i % 2 == 0, i % 5 == 0,
+                    true });
+            if (carRows.size() == BATCH_SIZE || i == cars - 1) {
+                jdbc.batchUpdate("INSERT INTO car (brand, model, license_plate, owner_email, type, number_of_seats, "
+                        + "number_of_child_seats, folding_rear_seat, tow_bar, available_for_rent) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", carRows);
+                carRows.clear();
+            }
+        }
+
+        List<Long> carIds = context.getBean(CarRepository.class).findAllIds();
+        List<Object[]> rentRows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < carIds.size(); i++) {
+            LocalDate from = rentStart(i);
+            rentRows.add(new Object[] { carIds.get(i), Date.valueOf(from), Date.valueOf(from.plusDays(3)),
+                    "owner" + (i % 1000) + "@example.com", "renter" + i + "@example.com", "0470" + i,
+                    String.format("90.01.01-%06d", i), Date.valueOf(LocalDate.of(1990, 1, 1)), "DL" + i });
+            if (rentRows.size() == BATCH_SIZE || i == carIds.size() - 1) {
+                jdbc.batchUpdate("INSERT INTO rent (car_id, start_date, end_date, owner_email, renter_email, "
+                        + "phone_number, national_register_id, birth_date, driving_license_number) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rentRows);
+                rentRows.clear();
+            }
+        }
+    }
+
+    // Startdatum van de huurperiode van de i-de auto
+    static LocalDate rentStart(int i) {
+        return LocalDate.of(2025, 1, 1).plusDays(i % 365);
+    }
+}
@@ -0,0 +1,52 @@
+package be.ucll.se.demo.benchmark;
+
+import be.ucll.se.demo.model.Notification;
+import be.ucll.se.demo.model.NotificationType;
+import be.ucll.se.demo.service.EmailService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kost van de HTML-body van een notificatiemail, los van SMTP. De methode is
+ * private in EmailService; een MethodHandle houdt de reflectie-overhead uit
+ * de meting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private EmailService emailService;
+    private MethodHandle buildEmailTemplate;
+    private Notification notification;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        emailService = new EmailService();
+        buildEmailTemplate = MethodHandles.privateLookupIn(EmailService.class, MethodHandles.lookup())
+                .findVirtual(EmailService.class, "buildEmailTemplate",
+                        MethodType.methodType(String.class, Notification.class));
+        notification = new Notification("renter@example.com", NotificationType.BOOKING_CONFIRMATION,
+                "Boeking bevestigd", "Uw boeking voor de Toyota Corolla (1-ABC-123) van 01/06/2025 tot "
+                        + "08/06/2025 is bevestigd.",
+                1L, "RENT");
+    }
+
+    @TearDown
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(emailService, "shutdownMailExecutor");
+    }
+
+    @Benchmark
+    public String buildEmailTemplate() throws Throwable {
+        return (String) buildEmailTemplate.invokeExact(emailService, notification);
+    }
+}
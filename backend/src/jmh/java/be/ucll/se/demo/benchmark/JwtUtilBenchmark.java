@@ -0,0 +1,65 @@
+package be.ucll.se.demo.benchmark;
+
+import be.ucll.se.demo.config.JwtConfig;
+import be.ucll.se.demo.model.RoleName;
+import be.ucll.se.demo.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kost van een token aanmaken (login) en valideren (elke request). Valideren
+ * wordt gemeten met de claims-cache (zelfde token) en zonder, met een cache
+ * van grootte 0, zodat elke call de HMAC-handtekening verifieert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForJmhRunsOnly1234567890";
+    private static final Set<RoleName> ROLES = Set.of(RoleName.OWNER, RoleName.RENTER);
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = newJwtUtil(10_000L);
+        uncachedJwtUtil = newJwtUtil(0L);
+        token = cachingJwtUtil.generateToken("owner@example.com", ROLES, true, 0);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtil.generateToken("owner@example.com", ROLES, true, 0);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachingJwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncachedJwtUtil.validateToken(token);
+    }
+
+    private static JwtUtil newJwtUtil(long claimsCacheMaxSize) {
+        JwtConfig config = new JwtConfig();
+        ReflectionTestUtils.setField(config, "secret", SECRET);
+        ReflectionTestUtils.setField(config, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(config, "claimsCacheMaxSize", claimsCacheMaxSize);
+
+        JwtUtil jwtUtil = new JwtUtil(config, new SimpleMeterRegistry());
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
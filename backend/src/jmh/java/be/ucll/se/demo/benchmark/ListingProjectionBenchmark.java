@@ -0,0 +1,79 @@
+package be.ucll.se.demo.benchmark;
+
+import be.ucll.se.demo.dto.CarDTO;
+import be.ucll.se.demo.dto.RentDTO;
+import be.ucll.se.demo.mapper.CarMapper;
+import be.ucll.se.demo.mapper.RentMapper;
+import be.ucll.se.demo.repository.CarRepository;
+import be.ucll.se.demo.repository.RentRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergelijkt de lijst-endpoints vóór en na de DTO-projecties: entities laden
+ * en mappen tegenover rechtstreeks in DTO's selecteren, op een H2-database
+ * met {@code rows} auto's en evenveel huurperiodes (standaard 100k).
+ *
+ * Allocaties per operatie staan in gc.alloc.rate.norm (GC-profiler van het
+ * benchmarks-profiel): {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.includes=ListingProjectionBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = { "-Xmx2g" })
+public class ListingProjectionBenchmark {
+
+    @Param({ "100000" })
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private CarRepository carRepository;
+    private RentRepository rentRepository;
+    private CarMapper carMapper;
+    private TransactionTemplate readOnlyTx;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkDatabase.start("listing");
+        BenchmarkDatabase.seedCarsAndRents(context, rows);
+        carRepository = context.getBean(CarRepository.class);
+        rentRepository = context.getBean(RentRepository.class);
+        carMapper = context.getBean(CarMapper.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // ===== CARS =====
+    @Benchmark
+    public List<CarDTO> carsEntityAndMapper() {
+        return readOnlyTx.execute(status -> carRepository.findAll().stream().map(carMapper::toDTO).toList());
+    }
+
+    @Benchmark
+    public List<CarDTO> carsProjection() {
+        return readOnlyTx.execute(status -> carRepository.findAllDTOs());
+    }
+
+    // ===== RENTS =====
+    @Benchmark
+    public List<RentDTO> rentsEntityAndMapper() {
+        return readOnlyTx.execute(status -> rentRepository.findAll().stream().map(RentMapper::toDto).toList());
+    }
+
+    @Benchmark
+    public List<RentDTO> rentsProjection() {
+        return readOnlyTx.execute(status -> rentRepository.findAllDTOs());
+    }
+}
@@ -0,0 +1,100 @@
+package be.ucll.se.demo.benchmark;
+
+import be.ucll.se.demo.dto.CarDTO;
+import be.ucll.se.demo.dto.RentDTO;
+import be.ucll.se.demo.dto.RentalCreateDTO;
+import be.ucll.se.demo.dto.RentalDTO;
+import be.ucll.se.demo.mapper.CarMapper;
+import be.ucll.se.demo.mapper.RentMapper;
+import be.ucll.se.demo.mapper.RentalMapper;
+import be.ucll.se.demo.model.Car;
+import be.ucll.se.demo.model.CarType;
+import be.ucll.se.demo.model.Contact;
+import be.ucll.se.demo.model.PickupPoint;
+import be.ucll.se.demo.model.Rent;
+import be.ucll.se.demo.model.Rental;
+import be.ucll.se.demo.model.RenterInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kost van de mappers per object, zonder database. Draait ook mee bij elke
+ * lijst die nog via entities gaat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private CarMapper carMapper;
+    private RentalMapper rentalMapper;
+
+    private Car car;
+    private Rental rental;
+    private Rent rent;
+    private RentalCreateDTO rentalCreateDTO;
+
+    @Setup
+    public void setUp() {
+        carMapper = new CarMapper();
+        rentalMapper = new RentalMapper(carMapper);
+
+        car = new Car("Toyota", "Corolla", "1-ABC-123", "owner@example.com");
+        car.setId(1L);
+        car.setType(CarType.SEDAN);
+        car.setNumberOfSeats(5);
+        car.setNumberOfChildSeats(1);
+        car.setTowBar(true);
+        car.setAvailableForRent(true);
+
+        rental = new Rental(car, LocalDate.of(2025, 6, 1), LocalTime.of(9, 0), LocalDate.of(2025, 6, 8),
+                LocalTime.of(18, 0), new PickupPoint("Bondgenotenlaan", "1", "3000", "Leuven"),
+                new Contact("Jan Jansen", "0470123456", "jan@example.com"), "owner@example.com");
+        rental.setId(1L);
+
+        rent = new Rent(car, LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 8), "owner@example.com",
+                "renter@example.com", new RenterInfo("0470123456", "90.01.01-123.45", LocalDate.of(1990, 1, 1),
+                        "1234567890"));
+
+        rentalCreateDTO = new RentalCreateDTO();
+        rentalCreateDTO.setCarId(1L);
+        rentalCreateDTO.setStartDate("2025-06-01");
+        rentalCreateDTO.setStartTime("09:00");
+        rentalCreateDTO.setEndDate("2025-06-08");
+        rentalCreateDTO.setEndTime("18:00");
+        rentalCreateDTO.setStreet("Bondgenotenlaan");
+        rentalCreateDTO.setNumber("1");
+        rentalCreateDTO.setPostal("3000");
+        rentalCreateDTO.setCity("Leuven");
+        rentalCreateDTO.setContactName("Jan Jansen");
+        rentalCreateDTO.setPhone("0470123456");
+        rentalCreateDTO.setEmail("jan@example.com");
+        rentalCreateDTO.setOwnerEmail("owner@example.com");
+    }
+
+    @Benchmark
+    public CarDTO carToDTO() {
+        return carMapper.toDTO(car);
+    }
+
+    @Benchmark
+    public RentalDTO rentalToDTO() {
+        return rentalMapper.toDTO(rental);
+    }
+
+    @Benchmark
+    public Rental rentalToEntity() {
+        return rentalMapper.toEntity(rentalCreateDTO, car);
+    }
+
+    @Benchmark
+    public RentDTO rentToDto() {
+        return RentMapper.toDto(rent);
+    }
+}
@@ -0,0 +1,86 @@
+package be.ucll.se.demo.benchmark;
+
+import be.ucll.se.demo.util.PasswordHasher;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meet de verificatietijd van een login (en de hashtijd bij registratie) per
+ * BCrypt cost factor.
+ *
+ * Via main() wordt de hoogste cost gekozen waarvan de p99 onder het doel
+ * blijft: {@code -DtargetP99Ms=250} (standaard 250 ms). Zet die waarde
+ * daarna in app.security.password.bcrypt-strength.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHasherBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({ "8", "9", "10", "11", "12", "13" })
+    private int strength;
+
+    private PasswordHasher passwordHasher;
+    private String storedHash;
+
+    @Setup
+    public void setUp() {
+        passwordHasher = new PasswordHasher("bcrypt", strength, 19456, 2, 1, 1024, 60_000);
+        storedHash = passwordHasher.hash(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Benchmark
+    public boolean verifyPassword() {
+        return passwordHasher.matches(PASSWORD, storedHash);
+    }
+
+    // Registratie en rehash na een cost-wijziging
+    @Benchmark
+    public String hashPassword() {
+        return passwordHasher.hash(PASSWORD);
+    }
+
+    public static void main(String[] args) throws Exception {
+        double targetP99Ms = Double.parseDouble(System.getProperty("targetP99Ms", "250"));
+
+        Options options = new OptionsBuilder()
+                .include(PasswordHasherBenchmark.class.getSimpleName())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        int chosen = -1;
+        for (RunResult result : results) {
+            if (!result.getParams().getBenchmark().endsWith("verifyPassword")) {
+                continue;
+            }
+            int resultStrength = Integer.parseInt(result.getParams().getParam("strength"));
+            double p99 = result.getPrimaryResult().getStatistics().getPercentile(99);
+            System.out.printf("📊 bcrypt cost %d: p99 %.1f ms%n", resultStrength, p99);
+            if (p99 <= targetP99Ms && resultStrength > chosen) {
+                chosen = resultStrength;
+            }
+        }
+
+        if (chosen < 0) {
+            System.out.printf("Geen cost factor haalt een p99 van %.0f ms%n", targetP99Ms);
+        } else {
+            System.out.printf("app.security.password.bcrypt-strength=%d (p99 doel %.0f ms)%n", chosen, targetP99Ms);
+        }
+    }
+}
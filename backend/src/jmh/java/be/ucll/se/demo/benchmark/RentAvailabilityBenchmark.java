@@ -0,0 +1,69 @@
+package be.ucll.se.demo.benchmark;
+
+import be.ucll.se.demo.repository.CarRepository;
+import be.ucll.se.demo.repository.RentRepository;
+import be.ucll.se.demo.service.CarAvailabilityIndex;
+import be.ucll.se.demo.service.RentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RentService.isCarAvailableForPeriod op een H2-database met {@code rows}
+ * auto's en huurperiodes: via de in-memory CarAvailabilityIndex (het pad na
+ * het opstarten) tegenover de overlap-query die de index vervangt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx2g" })
+@Threads(4)
+public class RentAvailabilityBenchmark {
+
+    @Param({ "10000" })
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private RentService rentService;
+    private RentRepository rentRepository;
+    private Long[] carIds;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkDatabase.start("availability");
+        BenchmarkDatabase.seedCarsAndRents(context, rows);
+        rentService = context.getBean(RentService.class);
+        rentRepository = context.getBean(RentRepository.class);
+
+        List<Long> ids = context.getBean(CarRepository.class).findAllIds();
+        carIds = ids.toArray(new Long[0]);
+        // De index werd bij het opstarten op een lege database gebouwd
+        context.getBean(CarAvailabilityIndex.class).rebuild();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean isCarAvailableForPeriod() {
+        int i = ThreadLocalRandom.current().nextInt(carIds.length);
+        LocalDate start = BenchmarkDatabase.rentStart(i).plusDays(ThreadLocalRandom.current().nextInt(-5, 5));
+        return rentService.isCarAvailableForPeriod(carIds[i], start, start.plusDays(2));
+    }
+
+    @Benchmark
+    public boolean overlapQuery() {
+        int i = ThreadLocalRandom.current().nextInt(carIds.length);
+        LocalDate start = BenchmarkDatabase.rentStart(i).plusDays(ThreadLocalRandom.current().nextInt(-5, 5));
+        return !rentRepository.existsByCarIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                carIds[i], start.plusDays(2), start);
+    }
+}
@@ -0,0 +1,335 @@
+package be.ucll.se.demo.loadtest;
+
+import be.ucll.se.demo.JanvhanssenBackendApplication;
+import be.ucll.se.demo.loadtest.LatencyRecorder.Outcome;
+import be.ucll.se.demo.loadtest.LatencyRecorder.Summary;
+import be.ucll.se.demo.loadtest.LoadMix.Endpoint;
+import be.ucll.se.demo.model.Car;
+import be.ucll.se.demo.model.CarType;
+import be.ucll.se.demo.model.Contact;
+import be.ucll.se.demo.model.Notification;
+import be.ucll.se.demo.model.NotificationType;
+import be.ucll.se.demo.model.PickupPoint;
+import be.ucll.se.demo.model.Rental;
+import be.ucll.se.demo.repository.CarRepository;
+import be.ucll.se.demo.repository.NotificationRepository;
+import be.ucll.se.demo.repository.RentalRepository;
+import be.ucll.se.demo.service.CarAvailabilityIndex;
+import be.ucll.se.demo.service.CarCatalogCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Start de applicatie op H2 met een willekeurige poort, vult de database en
+ * stuurt vanuit virtuele threads een gewogen mix van requests naar de
+ * auto-, huur-, verhuur- en notificatie-endpoints. Rapporteert per endpoint
+ * p50/p95/p99 en requests per seconde, en schrijft het resultaat als JSON.
+ *
+ * {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.users=200 -Dloadtest.duration-seconds=30}
+ *
+ * Elke virtuele gebruiker trekt met een vaste seed, zodat twee runs met
+ * dezelfde instellingen dezelfde reeks requests versturen.
+ */
+public final class BookingLoadRunner {
+
+    private static final String[] CITIES = { "Leuven", "Gent", "Antwerpen", "Brussel", "Hasselt" };
+    private static final LocalDate FIRST_BOOKABLE_DAY = LocalDate.now().plusDays(1);
+
+    private final int users = Integer.getInteger("loadtest.users", 200);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+    private final int thinkMillis = Integer.getInteger("loadtest.think-ms", 0);
+    private final int cars = Integer.getInteger("loadtest.cars", 1000);
+    private final int renters = Integer.getInteger("loadtest.renters", 100);
+    private final long seed = Long.getLong("loadtest.seed", 42L);
+    private final LoadMix mix = LoadMix.parse(System.getProperty("loadtest.mix", LoadMix.DEFAULT));
+    private final Path resultFile = Path.of(System.getProperty("loadtest.result-file", "target/loadtest-result.json"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private HttpClient httpClient;
+    private String baseUrl;
+    private Long[] carIds;
+
+    public static void main(String[] args) throws Exception {
+        int exitCode;
+        try {
+            exitCode = new BookingLoadRunner().run();
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        }
+        // De embedded server en HttpClient houden anders de JVM open
+        System.exit(exitCode);
+    }
+
+    private int run() throws Exception {
+        try (ConfigurableApplicationContext context = startApplication()) {
+            seed(context);
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            // Eén virtuele thread per gebruiker; send() blokkeert enkel die virtuele thread
+            try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+                System.out.printf("Load test: %d virtual users, %ds warm-up, %ds measured, mix %s%n",
+                        users, warmupSeconds, durationSeconds, mix.weights());
+                Map<Endpoint, LatencyRecorder> merged = drive(virtualThreads);
+                Map<Endpoint, Summary> summaries = new EnumMap<>(Endpoint.class);
+                merged.forEach((endpoint, recorder) -> summaries.put(endpoint, recorder.summarize(durationSeconds)));
+
+                printReport(summaries);
+                writeResult(summaries);
+                long errors = summaries.values().stream().mapToLong(Summary::errors).sum();
+                return errors == 0 ? 0 : 2;
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication() {
+        return new SpringApplicationBuilder(JanvhanssenBackendApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.be.ucll.se.demo=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        // Geen SMTP tijdens de meting; notificaties worden wel aangemaakt
+                        "app.email.enabled=false",
+                        "server.tomcat.threads.max=" + Math.max(200, users))
+                .run();
+    }
+
+    // ===== SEED DATA =====
+    private void seed(ConfigurableApplicationContext context) {
+        CarRepository carRepository = context.getBean(CarRepository.class);
+        CarType[] types = CarType.values();
+        List<Car> carList = new ArrayList<>(cars);
+        for (int i = 0; i < cars; i++) {
+            Car car = new Car("Brand" + (i % 20), "Model" + (i % 200), String.format("LT-%06d", i), ownerEmail(i));
+            car.setType(types[i % types.length]);
+            car.setNumberOfSeats(4 + i % 4);
+            car.setNumberOfChildSeats(i % 3);
+            car.setTowBar(i % 5 == 0);
+            car.setAvailableForRent(true);
+            carList.add(car);
+        }
+        List<Car> savedCars = carRepository.saveAll(carList);
+
+        List<Rental> rentals = new ArrayList<>(savedCars.size());
+        for (int i = 0; i < savedCars.size(); i++) {
+            LocalDate start = FIRST_BOOKABLE_DAY.plusDays(i % 60);
+            rentals.add(new Rental(savedCars.get(i), start, LocalTime.of(9, 0), start.plusDays(3),
+                    LocalTime.of(18, 0), new PickupPoint("Markt", String.valueOf(i % 50 + 1), "3000",
+                            CITIES[i % CITIES.length]),
+                    new Contact("Owner " + i, "0470000000", ownerEmail(i)), ownerEmail(i)));
+        }
+        context.getBean(RentalRepository.class).saveAll(rentals);
+
+        List<Notification> notifications = new ArrayList<>();
+        for (int r = 0; r < renters; r++) {
+            for (int n = 0; n < 20; n++) {
+                notifications.add(new Notification(renterEmail(r), NotificationType.BOOKING_CONFIRMATION,
+                        "Boeking bevestigd", "Seed notificatie " + n, (long) n, "RENT"));
+            }
+        }
+        context.getBean(NotificationRepository.class).saveAll(notifications);
+
+        // Data buiten de services om: caches en index opnieuw opbouwen
+        context.getBean(CarCatalogCache.class).invalidateAll();
+        context.getBean(CarAvailabilityIndex.class).rebuild();
+        carIds = carRepository.findAllIds().toArray(new Long[0]);
+        System.out.printf("Seeded %d cars, %d rentals, %d notifications%n",
+                carIds.length, rentals.size(), notifications.size());
+    }
+
+    // ===== LOAD =====
+    private Map<Endpoint, LatencyRecorder> drive(ExecutorService virtualThreads) throws Exception {
+        long measureStart = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+        long measureEnd = measureStart + Duration.ofSeconds(durationSeconds).toNanos();
+
+        List<Future<Map<Endpoint, LatencyRecorder>>> futures = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            int user = u;
+            futures.add(virtualThreads.submit(() -> runUser(user, measureStart, measureEnd)));
+        }
+
+        Map<Endpoint, LatencyRecorder> merged = new EnumMap<>(Endpoint.class);
+        for (Future<Map<Endpoint, LatencyRecorder>> future : futures) {
+            future.get().forEach((endpoint, recorder) -> merged
+                    .computeIfAbsent(endpoint, e -> new LatencyRecorder())
+                    .addAll(recorder));
+        }
+        return merged;
+    }
+
+    private Map<Endpoint, LatencyRecorder> runUser(int user, long measureStart, long measureEnd)
+            throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed + user);
+        Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        String renterEmail = renterEmail(user % renters);
+
+        while (System.nanoTime() < measureEnd) {
+            Endpoint endpoint = mix.next(random);
+            HttpRequest request = buildRequest(endpoint, random, renterEmail);
+
+            long start = System.nanoTime();
+            Outcome outcome = send(endpoint, request);
+            long end = System.nanoTime();
+
+            if (start >= measureStart && end <= measureEnd) {
+                recorders.computeIfAbsent(endpoint, e -> new LatencyRecorder()).record(end - start, outcome);
+            }
+            if (thinkMillis > 0) {
+                Thread.sleep(thinkMillis);
+            }
+        }
+        return recorders;
+    }
+
+    private Outcome send(Endpoint endpoint, HttpRequest request) {
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 200 && status < 300) {
+                return Outcome.OK;
+            }
+            // Overlappende boeking: verwacht bij gelijktijdige gebruikers op dezelfde auto
+            return endpoint == Endpoint.RENTS_CREATE && status == 400 ? Outcome.REJECTED : Outcome.ERROR;
+        } catch (IOException e) {
+            return Outcome.ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.ERROR;
+        }
+    }
+
+    private HttpRequest buildRequest(Endpoint endpoint, SplittableRandom random, String renterEmail) {
+        Long carId = carIds[random.nextInt(carIds.length)];
+        LocalDate from = FIRST_BOOKABLE_DAY.plusDays(random.nextInt(365));
+        LocalDate to = from.plusDays(1 + random.nextInt(7));
+        return switch (endpoint) {
+            case CARS_LIST -> get("/cars");
+            case CARS_SEARCH -> get("/cars?type=" + CarType.values()[random.nextInt(CarType.values().length)]
+                    + "&page=" + random.nextInt(3) + "&size=20&sort=brand");
+            case CARS_AVAILABLE -> get("/cars/available?from=" + from + "&to=" + to);
+            case RENTS_CREATE -> post("/rents", rentBody(carId, from, to, renterEmail));
+            case RENTS_BY_CAR -> get("/rents/by-car/" + carId);
+            case RENTALS_BY_CAR -> get("/rentals/car/" + carId);
+            case RENTALS_BY_CITY -> get("/rentals/city/" + CITIES[random.nextInt(CITIES.length)]);
+            case NOTIFICATIONS_INBOX -> get("/notifications/inbox?size=20&userEmail=" + renterEmail);
+            case NOTIFICATIONS_UNREAD_COUNT -> get("/notifications/unread/count?userEmail=" + renterEmail);
+        };
+    }
+
+    private String rentBody(Long carId, LocalDate from, LocalDate to, String renterEmail) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("carId", carId);
+        body.put("startDate", from.toString());
+        body.put("endDate", to.toString());
+        body.put("ownerEmail", "owner@example.com");
+        body.put("renterEmail", renterEmail);
+        body.put("phoneNumber", "0470123456");
+        body.put("nationalRegisterId", "90.01.01-123.45");
+        body.put("birthDate", "1990-01-01");
+        body.put("drivingLicenseNumber", "1234567890");
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    // ===== REPORT =====
+    private void printReport(Map<Endpoint, Summary> summaries) {
+        System.out.printf("%n%-28s %9s %8s %8s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "rps", "rejected", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<Endpoint, Summary> entry : summaries.entrySet()) {
+            Summary s = entry.getValue();
+            total += s.requests();
+            System.out.printf("%-28s %9d %8.1f %8d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().key(), s.requests(), s.requestsPerSecond(), s.rejected(), s.errors(),
+                    s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs());
+        }
+        System.out.printf("%-28s %9d %8.1f%n", "total", total, total / (double) durationSeconds);
+    }
+
+    private void writeResult(Map<Endpoint, Summary> summaries) throws IOException {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", users);
+        config.put("warmupSeconds", warmupSeconds);
+        config.put("durationSeconds", durationSeconds);
+        config.put("thinkMillis", thinkMillis);
+        config.put("cars", cars);
+        config.put("renters", renters);
+        config.put("seed", seed);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.weights().forEach((endpoint, weight) -> weights.put(endpoint.key(), weight));
+        config.put("mix", weights);
+
+        Map<String, Summary> endpoints = new LinkedHashMap<>();
+        summaries.forEach((endpoint, summary) -> endpoints.put(endpoint.key(), summary));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("config", config);
+        result.put("endpoints", endpoints);
+
+        if (resultFile.getParent() != null) {
+            Files.createDirectories(resultFile.getParent());
+        }
+        objectMapper.writeValue(resultFile.toFile(), result);
+        System.out.println("Result written to " + resultFile.toAbsolutePath());
+    }
+
+    private static String ownerEmail(int car) {
+        return "owner" + (car % 100) + "@example.com";
+    }
+
+    private static String renterEmail(int renter) {
+        return "renter" + renter + "@example.com";
+    }
+}
@@ -0,0 +1,66 @@
+package be.ucll.se.demo.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latenties van één endpoint, opgenomen door één virtuele gebruiker. Elke
+ * gebruiker heeft zijn eigen recorders (geen synchronisatie tijdens de
+ * meting); na afloop worden ze samengevoegd.
+ */
+final class LatencyRecorder {
+
+    private long[] nanos = new long[256];
+    private int count;
+    private long ok;
+    // Verwachte weigeringen, bv. 400 bij een overlappende boeking
+    private long rejected;
+    private long errors;
+
+    void record(long latencyNanos, Outcome outcome) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = latencyNanos;
+        switch (outcome) {
+            case OK -> ok++;
+            case REJECTED -> rejected++;
+            case ERROR -> errors++;
+        }
+    }
+
+    void addAll(LatencyRecorder other) {
+        if (count + other.count > nanos.length) {
+            nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, count + other.count));
+        }
+        System.arraycopy(other.nanos, 0, nanos, count, other.count);
+        count += other.count;
+        ok += other.ok;
+        rejected += other.rejected;
+        errors += other.errors;
+    }
+
+    Summary summarize(double measuredSeconds) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        return new Summary(count, ok, rejected, errors, count / measuredSeconds,
+                percentileMillis(sorted, 50), percentileMillis(sorted, 95), percentileMillis(sorted, 99),
+                count == 0 ? 0 : sorted[count - 1] / 1_000_000.0);
+    }
+
+    // Nearest-rank percentiel
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+
+    enum Outcome {
+        OK, REJECTED, ERROR
+    }
+
+    record Summary(long requests, long ok, long rejected, long errors, double requestsPerSecond,
+            double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+}
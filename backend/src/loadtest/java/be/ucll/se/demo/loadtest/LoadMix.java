@@ -0,0 +1,107 @@
+package be.ucll.se.demo.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Gewogen verdeling van de requests over de endpoints, bv.
+ * {@code cars.available=20,rents.create=10,notifications.inbox=15}.
+ * Endpoints die niet vermeld worden krijgen gewicht 0.
+ */
+final class LoadMix {
+
+    static final String DEFAULT = "cars.list=10,cars.search=10,cars.available=20,rents.create=10,"
+            + "rents.by-car=10,rentals.by-car=10,notifications.inbox=15,notifications.unread-count=15";
+
+    enum Endpoint {
+        CARS_LIST("cars.list"),
+        CARS_SEARCH("cars.search"),
+        CARS_AVAILABLE("cars.available"),
+        RENTS_CREATE("rents.create"),
+        RENTS_BY_CAR("rents.by-car"),
+        RENTALS_BY_CAR("rentals.by-car"),
+        RENTALS_BY_CITY("rentals.by-city"),
+        NOTIFICATIONS_INBOX("notifications.inbox"),
+        NOTIFICATIONS_UNREAD_COUNT("notifications.unread-count");
+
+        private final String key;
+
+        Endpoint(String key) {
+            this.key = key;
+        }
+
+        String key() {
+            return key;
+        }
+
+        static Endpoint fromKey(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equals(key)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint in load mix: " + key);
+        }
+    }
+
+    private final Map<Endpoint, Integer> weights;
+    // Cumulatieve gewichten voor de trekking
+    private final Endpoint[] endpoints;
+    private final int[] cumulative;
+
+    private LoadMix(Map<Endpoint, Integer> weights) {
+        this.weights = Collections.unmodifiableMap(weights);
+        List<Endpoint> active = new ArrayList<>();
+        List<Integer> sums = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Endpoint, Integer> entry : weights.entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                active.add(entry.getKey());
+                sums.add(total);
+            }
+        }
+        if (active.isEmpty()) {
+            throw new IllegalArgumentException("Load mix needs at least one endpoint with a positive weight");
+        }
+        this.endpoints = active.toArray(new Endpoint[0]);
+        this.cumulative = sums.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    static LoadMix parse(String spec) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] keyValue = part.trim().split("=", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint=weight in load mix, got: " + part);
+            }
+            int weight = Integer.parseInt(keyValue[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in load mix: " + part);
+            }
+            weights.put(Endpoint.fromKey(keyValue[0].trim()), weight);
+        }
+        return new LoadMix(weights);
+    }
+
+    Endpoint next(SplittableRandom random) {
+        int pick = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (pick < cumulative[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    Map<Endpoint, Integer> weights() {
+        return weights;
+    }
+}
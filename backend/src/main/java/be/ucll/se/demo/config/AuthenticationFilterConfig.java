@@ -0,0 +1,18 @@
+package be.ucll.se.demo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import be.ucll.se.demo.security.JwtAuthenticationFilter;
+import be.ucll.se.demo.service.UserService;
+import be.ucll.se.demo.util.JwtUtil;
+
+// Via @Bean i.p.v. @Component: @WebMvcTest slices krijgen de filter enkel als ze hem importeren
+@Configuration
+public class AuthenticationFilterConfig {
+
+    @Bean
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService) {
+        return new JwtAuthenticationFilter(jwtUtil, userService);
+    }
+}
@@ -16,6 +16,9 @@ public class JwtConfig {
     @Value("${jwt.expiration:3600000}")
     private long expiration;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
     public String getSecret() {
         return secret;
     }
@@ -24,6 +27,10 @@ public class JwtConfig {
         return expiration;
     }
 
+    public long getClaimsCacheMaxSize() {
+        return claimsCacheMaxSize;
+    }
+
     @PostConstruct
     public void init() {
         LOGGER.info("JWT Secret loaded with length: {}", secret.length());
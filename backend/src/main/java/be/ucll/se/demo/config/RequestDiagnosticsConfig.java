@@ -0,0 +1,24 @@
+package be.ucll.se.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import be.ucll.se.demo.util.RequestDiagnosticsFilter;
+
+// Eerste filter in de keten, zodat de gemeten duur ook de andere filters bevat
+@Configuration
+public class RequestDiagnosticsConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestDiagnosticsFilter> requestDiagnosticsFilter(
+            @Value("${app.diagnostics.enabled:false}") boolean enabled,
+            @Value("${app.diagnostics.sample-rate:0.01}") double sampleRate) {
+        FilterRegistrationBean<RequestDiagnosticsFilter> registration = new FilterRegistrationBean<>(
+                new RequestDiagnosticsFilter(enabled, sampleRate));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
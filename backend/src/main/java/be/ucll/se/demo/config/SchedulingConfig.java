@@ -0,0 +1,12 @@
+package be.ucll.se.demo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Tests zetten spring.task.scheduling.enabled=false zodat er geen achtergrondjobs lopen
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "spring.task.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -12,6 +12,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import be.ucll.se.demo.dto.BroadcastResultDTO;
+import be.ucll.se.demo.model.NotificationStatus;
 import be.ucll.se.demo.service.NotificationService;
 
 @RestController
@@ -23,18 +25,24 @@ public class AdminNotificationController {
     private NotificationService notificationService;
 
     @PostMapping("/broadcast")
-    public ResponseEntity<Void> broadcastAnnouncement(
+    public ResponseEntity<BroadcastResultDTO> broadcastAnnouncement(
             @RequestBody Map<String, String> request) {
         String title = request.get("title");
         String message = request.get("message");
-        notificationService.broadcastSystemAnnouncement(title, message);
-        return ResponseEntity.ok().build();
+        if (title == null || title.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        BroadcastResultDTO result = notificationService.broadcastSystemAnnouncement(title, message);
+        return ResponseEntity.ok(result);
     }
 
     @DeleteMapping("/cleanup")
-    public ResponseEntity<Void> cleanupOldNotifications(
-            @RequestParam(defaultValue = "30") int daysOld) {
-        notificationService.cleanupOldNotifications(daysOld);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Map<NotificationStatus, Integer>> cleanupOldNotifications(
+            @RequestParam(required = false) Integer daysOld) {
+        if (daysOld != null && daysOld < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<NotificationStatus, Integer> deleted = notificationService.cleanupOldNotifications(daysOld);
+        return ResponseEntity.ok(deleted);
     }
 }
\ No newline at end of file
@@ -1,22 +1,25 @@
 package be.ucll.se.demo.controller;
 
 import be.ucll.se.demo.dto.*;
+import be.ucll.se.demo.exception.PasswordHasherBusyException;
 import be.ucll.se.demo.model.RoleName;
 import be.ucll.se.demo.model.User;
+import be.ucll.se.demo.security.AuthenticatedUser;
+import be.ucll.se.demo.security.LoginRateLimiter;
 import be.ucll.se.demo.service.UserService;
 import be.ucll.se.demo.util.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 @RestController
 @RequestMapping("/auth")
@@ -24,31 +27,16 @@ import java.util.Set;
         RequestMethod.PUT })
 public class AuthController {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuthController.class);
+
     private final UserService userService;
     private final JwtUtil jwtUtil;
+    private final LoginRateLimiter loginRateLimiter;
 
-    public AuthController(UserService userService, JwtUtil jwtUtil) {
+    public AuthController(UserService userService, JwtUtil jwtUtil, LoginRateLimiter loginRateLimiter) {
         this.userService = userService;
         this.jwtUtil = jwtUtil;
-    }
-
-    private String hashPassword(String password) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
-
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 algorithm not found", e);
-        }
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     @PostMapping("/register")
@@ -124,20 +112,32 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> loginRequest) {
+    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> loginRequest,
+            HttpServletRequest request) {
         String username = loginRequest.get("username");
         String password = loginRequest.get("password");
 
-        System.out.println("=== LOGIN DEBUG ===");
-        System.out.println("Login attempt for user: " + username);
-        System.out.println("Password received: " + password);
+        // Afremmen voor er een DB-lookup of wachtwoordhash gebeurt. getRemoteAddr() respecteert
+        // X-Forwarded-For enkel als server.forward-headers-strategy achter een proxy aan staat.
+        long retryAfterSeconds = loginRateLimiter.tryAcquire(request.getRemoteAddr(), username);
+        if (retryAfterSeconds > 0) {
+            LOGGER.info("Login throttled for user: {}", username);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Too many login attempts, please retry later");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(errorResponse);
+        }
+
+        LOGGER.debug("Login attempt for user: {}", username);
 
         try {
             LoginResponseDTO loginResponse = userService.loginWithRoles(username, password);
 
             if (loginResponse != null) {
-                System.out.println("✓ Login successful for user: " + username);
-                String token = jwtUtil.generateToken(loginResponse.getEmail());
+                LOGGER.debug("Login successful for user: {}", username);
+                String token = jwtUtil.generateToken(loginResponse.getEmail(), loginResponse.getRoles(), true,
+                        loginResponse.getTokenVersion());
 
                 Map<String, Object> response = new HashMap<>();
                 response.put("token", token);
@@ -148,67 +148,57 @@ public class AuthController {
 
                 return ResponseEntity.ok(response);
             } else {
-                System.out.println("✗ Login failed for user: " + username);
+                LOGGER.info("Login failed for user: {}", username);
                 Map<String, Object> errorResponse = new HashMap<>();
                 errorResponse.put("error", "Invalid credentials or account disabled");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
             }
+        } catch (PasswordHasherBusyException e) {
+            LOGGER.warn("Login rejected, password hasher busy: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Too many login attempts, please retry shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(errorResponse);
         } catch (Exception e) {
-            System.out.println("✗ Unexpected error: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Unexpected login error", e);
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Authentication failed");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
 
+    // Token is al geverifieerd door JwtAuthenticationFilter; de header blijft verplicht
     @PostMapping("/validate")
-    public ResponseEntity<?> validateToken(@RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+    public ResponseEntity<?> validateToken(@RequestHeader("Authorization") String authHeader,
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser principal) {
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("valid", false));
         }
 
-        String token = authHeader.substring(7);
-        if (!jwtUtil.validateToken(token)) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("valid", false));
-        }
-
-        String email = jwtUtil.getUsernameFromToken(token);
-        if (email == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("valid", false));
-        }
-
-        Set<RoleName> userRoles = userService.getUserRoles(email);
-
         Map<String, Object> response = new HashMap<>();
         response.put("valid", true);
         response.put("user", Map.of(
-                "email", email,
-                "roles", userRoles,
-                "isAdmin", userRoles.contains(RoleName.ADMIN)));
+                "email", principal.email(),
+                "roles", principal.roles(),
+                "isAdmin", principal.isAdmin()));
 
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/check-role/{role}")
-    public ResponseEntity<?> checkUserRole(@RequestHeader(value = "Authorization", required = false) String authHeader,
+    public ResponseEntity<?> checkUserRole(
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser principal,
             @PathVariable String role) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("hasRole", false));
-        }
-
-        String token = authHeader.substring(7);
-        if (!jwtUtil.validateToken(token)) {
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("hasRole", false));
         }
 
-        String email = jwtUtil.getUsernameFromToken(token);
         try {
             RoleName roleName = RoleName.valueOf(role.toUpperCase());
-            boolean hasRole = userService.userHasRole(email, roleName);
-            return ResponseEntity.ok(Map.of("hasRole", hasRole));
+            return ResponseEntity.ok(Map.of("hasRole", principal.hasRole(roleName)));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Invalid role name"));
         }
     }
-}
\ No newline at end of file
+}
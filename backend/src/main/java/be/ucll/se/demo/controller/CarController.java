@@ -2,26 +2,61 @@ package be.ucll.se.demo.controller;
 
 import be.ucll.se.demo.dto.CarCreateDTO;
 import be.ucll.se.demo.dto.CarDTO;
+import be.ucll.se.demo.dto.PageDTO;
 import be.ucll.se.demo.service.CarService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/cars")
 public class CarController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CarService carService;
 
     public CarController(CarService carService) {
         this.carService = carService;
     }
 
+    // Zonder parameters de volledige lijst (bestaande clients), anders een pagina.
+    // after = nextCursor van de vorige pagina (keyset); page wordt dan genegeerd.
     @GetMapping
-    public List<CarDTO> getAllCars() {
-        return carService.getAllCarsDTO();
+    public ResponseEntity<?> getAllCars(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer minSeats,
+            @RequestParam(required = false) Boolean towBar,
+            @RequestParam(required = false) Integer childSeats) {
+        if (after == null && page == null && size == null && sort == null && type == null && minSeats == null
+                && towBar == null && childSeats == null) {
+            return ResponseEntity.ok(carService.getAllCarsDTO());
+        }
+
+        int pageNumber = page != null ? page : 0;
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        if (pageNumber < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE));
+        }
+
+        try {
+            PageDTO<CarDTO> cars = carService.searchCars(pageNumber, pageSize, sort, type, minSeats, towBar,
+                    childSeats, after);
+            return ResponseEntity.ok(cars);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
@@ -54,8 +89,20 @@ public class CarController {
     }
 
     @GetMapping("/available")
-    public List<CarDTO> getAvailableCars() {
-        return carService.getAvailableCarsDTO();
+    public ResponseEntity<?> getAvailableCars(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer minSeats) {
+        if (from == null && to == null && type == null && minSeats == null) {
+            return ResponseEntity.ok(carService.getAvailableCarsDTO());
+        }
+
+        try {
+            return ResponseEntity.ok(carService.getAvailableCarsForPeriodDTO(from, to, type, minSeats));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/owner/{email}")
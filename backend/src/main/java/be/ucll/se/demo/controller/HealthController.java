@@ -1,5 +1,7 @@
 package be.ucll.se.demo.controller;
 
+import be.ucll.se.demo.service.CarCatalogCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -19,6 +21,9 @@ public class HealthController {
     @Autowired
     private DataSource dataSource;
 
+    @Autowired
+    private CarCatalogCache carCatalogCache;
+
     @GetMapping("/api/health/database")
     public Map<String, Object> checkDatabase() {
         Map<String, Object> response = new HashMap<>();
@@ -86,6 +91,21 @@ public class HealthController {
         return response;
     }
 
+    @GetMapping("/api/health/car-cache")
+    public Map<String, Object> checkCarCache() {
+        Map<String, Object> response = new HashMap<>();
+        for (Map.Entry<String, CacheStats> entry : carCatalogCache.getStats().entrySet()) {
+            CacheStats stats = entry.getValue();
+            Map<String, Object> cache = new HashMap<>();
+            cache.put("hits", stats.hitCount());
+            cache.put("misses", stats.missCount());
+            cache.put("hitRate", stats.hitRate());
+            cache.put("evictions", stats.evictionCount());
+            response.put(entry.getKey(), cache);
+        }
+        return response;
+    }
+
     private boolean tableExists(Connection conn, String tableName) throws Exception {
         DatabaseMetaData meta = conn.getMetaData();
         ResultSet rs = meta.getTables(null, null, tableName, new String[] { "TABLE" });
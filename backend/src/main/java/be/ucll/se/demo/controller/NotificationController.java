@@ -3,19 +3,26 @@ package be.ucll.se.demo.controller;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import be.ucll.se.demo.dto.NotificationDTO;
+import be.ucll.se.demo.dto.NotificationPageDTO;
+import be.ucll.se.demo.security.AuthenticatedUser;
 import be.ucll.se.demo.service.NotificationService;
+import be.ucll.se.demo.service.NotificationStreamRegistry;
 
 @RestController
 @RequestMapping("/notifications")
@@ -25,6 +32,9 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationStreamRegistry streamRegistry;
+
     @GetMapping
     public ResponseEntity<List<NotificationDTO>> getUserNotifications(
             @RequestParam String userEmail) {
@@ -32,6 +42,33 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    // Gepagineerde inbox; geef nextCursor van het vorige antwoord mee als cursor
+    @GetMapping("/inbox")
+    public ResponseEntity<NotificationPageDTO> getUserNotificationsPage(
+            @RequestParam String userEmail,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(notificationService.getUserNotificationsPage(userEmail, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Live push van nieuwe notificaties (Server-Sent Events) i.p.v. pollen;
+    // de stream hoort altijd bij de ingelogde gebruiker, nooit bij een request parameter
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(streamRegistry.subscribe(principal.email()));
+    }
+
     @GetMapping("/unread")
     public ResponseEntity<List<NotificationDTO>> getUnreadNotifications(
             @RequestParam String userEmail) {
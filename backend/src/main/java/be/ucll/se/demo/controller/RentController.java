@@ -7,6 +7,7 @@ import be.ucll.se.demo.model.Car;
 import be.ucll.se.demo.model.Rent;
 import be.ucll.se.demo.service.CarService;
 import be.ucll.se.demo.service.RentService;
+import be.ucll.se.demo.util.RequestDiagnostics;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -15,7 +16,6 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/rents")
@@ -31,9 +31,7 @@ public class RentController {
 
     @GetMapping
     public List<RentDTO> getAllRents() {
-        return rentService.getAllRents().stream()
-                .map(RentMapper::toDto)
-                .collect(Collectors.toList());
+        return rentService.getAllRentDTOs();
     }
 
     @GetMapping("/{id}")
@@ -78,53 +76,27 @@ public class RentController {
 
     @GetMapping("/by-car/{carId}")
     public ResponseEntity<List<RentDTO>> getRentsByCar(@PathVariable Long carId) {
-        return carService.getCarById(carId)
-                .map(car -> {
-                    List<RentDTO> rents = rentService.getRentsByCar(car).stream()
-                            .map(RentMapper::toDto)
-                            .collect(Collectors.toList());
-                    return ResponseEntity.ok(rents);
-                })
+        return carService.getCarByIdDTO(carId)
+                .map(car -> ResponseEntity.ok(rentService.getRentDTOsByCarId(carId)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/renter/{email}")
     public List<RentDTO> getRentsByRenterEmail(@PathVariable String email) {
-        System.out.println("🔍 Searching for rents with renterEmail: '" + email + "'");
-
-        List<Rent> rents = rentService.getRentsByRenterEmail(email);
-        System.out.println("📊 Found " + rents.size() + " rents for email: " + email);
-
-        List<Rent> allRents = rentService.getAllRents();
-        System.out.println("🗄️ All renter emails in database:");
-        for (Rent rent : allRents) {
-            System.out.println("  - ID: " + rent.getId() + ", renterEmail: '" + rent.getRenterEmail() + "'");
-        }
-
-        List<RentDTO> result = rents.stream()
-                .map(RentMapper::toDto)
-                .collect(Collectors.toList());
-
-        System.out.println("✅ Returning " + result.size() + " RentDTOs");
-        return result;
+        List<RentDTO> rents = rentService.getRentDTOsByRenterEmail(email);
+        RequestDiagnostics.record("rents.by-renter", "results", rents.size());
+        return rents;
     }
 
     @GetMapping("/by-register-id")
     public List<RentDTO> getRentsByNationalRegisterId(@RequestParam String id) {
-        return rentService.getRentsByNationalRegisterId(id).stream()
-                .map(RentMapper::toDto)
-                .collect(Collectors.toList());
+        return rentService.getRentDTOsByNationalRegisterId(id);
     }
 
     @GetMapping("/active-or-upcoming/{carId}")
     public ResponseEntity<List<RentDTO>> getActiveOrUpcomingRents(@PathVariable Long carId) {
-        return carService.getCarById(carId)
-                .map(car -> {
-                    List<RentDTO> rents = rentService.getActiveOrUpcomingRentsForCar(car).stream()
-                            .map(RentMapper::toDto)
-                            .collect(Collectors.toList());
-                    return ResponseEntity.ok(rents);
-                })
+        return carService.getCarByIdDTO(carId)
+                .map(car -> ResponseEntity.ok(rentService.getActiveOrUpcomingRentDTOsForCar(carId)))
                 .orElse(ResponseEntity.notFound().build());
     }
 }
\ No newline at end of file
@@ -1,10 +1,11 @@
 package be.ucll.se.demo.controller;
 
+import be.ucll.se.demo.dto.PageDTO;
 import be.ucll.se.demo.dto.UserDTO;
 import be.ucll.se.demo.dto.UserRoleUpdateDTO;
 import be.ucll.se.demo.model.RoleName;
+import be.ucll.se.demo.security.AuthenticatedUser;
 import be.ucll.se.demo.service.UserService;
-import be.ucll.se.demo.util.JwtUtil;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,45 +21,60 @@ import java.util.Optional;
 public class UserManagementController {
 
     private final UserService userService;
-    private final JwtUtil jwtUtil;
 
-    public UserManagementController(UserService userService, JwtUtil jwtUtil) {
+    public UserManagementController(UserService userService) {
         this.userService = userService;
-        this.jwtUtil = jwtUtil;
     }
 
-    // Check if user is admin (helper method)
-    private boolean isAdminUser(String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return false;
-        }
-
-        String token = authHeader.substring(7);
-        if (!jwtUtil.validateToken(token)) {
-            return false;
-        }
-
-        String email = jwtUtil.getUsernameFromToken(token);
-        return userService.isAdmin(email);
+    // Principal wordt gezet door JwtAuthenticationFilter
+    private boolean isAdminUser(AuthenticatedUser principal) {
+        return principal != null && principal.isAdmin();
     }
 
-    // Get all users (Admin only)
+    // Get all users (Admin only); met page/size/role een gepagineerd antwoord
     @GetMapping
-    public ResponseEntity<?> getAllUsers(@RequestHeader("Authorization") String authHeader) {
-        if (!isAdminUser(authHeader)) {
+    public ResponseEntity<?> getAllUsers(
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser principal,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String role) {
+        if (!isAdminUser(principal)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Admin access required"));
         }
 
-        List<UserDTO> users = userService.getAllUsers();
+        if (page == null && size == null && role == null) {
+            List<UserDTO> users = userService.getAllUsers();
+            return ResponseEntity.ok(users);
+        }
+
+        int pageNumber = page != null ? page : 0;
+        int pageSize = size != null ? size : 20;
+        if (pageNumber < 0 || pageSize < 1 || pageSize > 100) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "page must be >= 0 and size between 1 and 100"));
+        }
+
+        RoleName roleName = null;
+        if (role != null) {
+            try {
+                roleName = RoleName.valueOf(role.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("error", "Invalid role name: " + role));
+            }
+        }
+
+        PageDTO<UserDTO> users = userService.getUsersPage(pageNumber, pageSize, roleName);
         return ResponseEntity.ok(users);
     }
 
     // Get user by ID (Admin only)
     @GetMapping("/{userId}")
-    public ResponseEntity<?> getUserById(@RequestHeader("Authorization") String authHeader,
+    public ResponseEntity<?> getUserById(
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser principal,
             @PathVariable String userId) {
-        if (!isAdminUser(authHeader)) {
+        if (!isAdminUser(principal)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Admin access required"));
         }
@@ -73,10 +89,11 @@ public class UserManagementController {
 
     // Update user roles (Admin only)
     @PutMapping("/{userId}/roles")
-    public ResponseEntity<?> updateUserRoles(@RequestHeader("Authorization") String authHeader,
+    public ResponseEntity<?> updateUserRoles(
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser principal,
             @PathVariable String userId,
             @Valid @RequestBody UserRoleUpdateDTO roleUpdateDTO) {
-        if (!isAdminUser(authHeader)) {
+        if (!isAdminUser(principal)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Admin access required"));
         }
@@ -94,9 +111,10 @@ public class UserManagementController {
 
     // Enable/Disable user (Admin only)
     @PutMapping("/{userId}/toggle-enabled")
-    public ResponseEntity<?> toggleUserEnabled(@RequestHeader("Authorization") String authHeader,
+    public ResponseEntity<?> toggleUserEnabled(
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser principal,
             @PathVariable String userId) {
-        if (!isAdminUser(authHeader)) {
+        if (!isAdminUser(principal)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Admin access required"));
         }
@@ -115,9 +133,10 @@ public class UserManagementController {
 
     // Get users by role (Admin only)
     @GetMapping("/by-role/{role}")
-    public ResponseEntity<?> getUsersByRole(@RequestHeader("Authorization") String authHeader,
+    public ResponseEntity<?> getUsersByRole(
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser principal,
             @PathVariable String role) {
-        if (!isAdminUser(authHeader)) {
+        if (!isAdminUser(principal)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Admin access required"));
         }
@@ -134,8 +153,9 @@ public class UserManagementController {
 
     // Get available roles
     @GetMapping("/available-roles")
-    public ResponseEntity<?> getAvailableRoles(@RequestHeader("Authorization") String authHeader) {
-        if (!isAdminUser(authHeader)) {
+    public ResponseEntity<?> getAvailableRoles(
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser principal) {
+        if (!isAdminUser(principal)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Admin access required"));
         }
@@ -0,0 +1,42 @@
+package be.ucll.se.demo.dto;
+
+public class BroadcastResultDTO {
+    private long recipients;
+    private int batches;
+    private long durationMs;
+
+    // Constructors
+    public BroadcastResultDTO() {
+    }
+
+    public BroadcastResultDTO(long recipients, int batches, long durationMs) {
+        this.recipients = recipients;
+        this.batches = batches;
+        this.durationMs = durationMs;
+    }
+
+    // Getters and Setters
+    public long getRecipients() {
+        return recipients;
+    }
+
+    public void setRecipients(long recipients) {
+        this.recipients = recipients;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public void setBatches(int batches) {
+        this.batches = batches;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
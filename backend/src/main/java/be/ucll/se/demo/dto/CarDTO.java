@@ -19,6 +19,23 @@ public class CarDTO {
     public CarDTO() {
     }
 
+    // Voor JPQL constructor-projecties (CarRepository), zonder managed entity
+    public CarDTO(Long id, String brand, String model, String licensePlate, String ownerEmail, CarType type,
+            int numberOfSeats, int numberOfChildSeats, boolean foldingRearSeat, boolean towBar,
+            boolean availableForRent) {
+        this.id = id;
+        this.brand = brand;
+        this.model = model;
+        this.licensePlate = licensePlate;
+        this.ownerEmail = ownerEmail;
+        this.type = type;
+        this.numberOfSeats = numberOfSeats;
+        this.numberOfChildSeats = numberOfChildSeats;
+        this.foldingRearSeat = foldingRearSeat;
+        this.towBar = towBar;
+        this.availableForRent = availableForRent;
+    }
+
     // Getters & Setters
     public Long getId() {
         return id;
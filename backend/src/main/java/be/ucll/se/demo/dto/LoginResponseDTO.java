@@ -9,6 +9,7 @@ public class LoginResponseDTO {
     private String username;
     private String email;
     private Set<RoleName> roles;
+    private int tokenVersion;
 
     // Getters & Setters
     public String getToken() {
@@ -50,4 +51,12 @@ public class LoginResponseDTO {
     public void setRoles(Set<RoleName> roles) {
         this.roles = roles;
     }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
 }
\ No newline at end of file
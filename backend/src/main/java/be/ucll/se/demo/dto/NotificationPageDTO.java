@@ -0,0 +1,34 @@
+package be.ucll.se.demo.dto;
+
+import java.util.List;
+
+public class NotificationPageDTO {
+    private List<NotificationDTO> items;
+    private String nextCursor; // null als er geen volgende pagina is
+
+    // Constructors
+    public NotificationPageDTO() {
+    }
+
+    public NotificationPageDTO(List<NotificationDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<NotificationDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<NotificationDTO> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
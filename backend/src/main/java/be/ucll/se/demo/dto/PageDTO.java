@@ -0,0 +1,102 @@
+package be.ucll.se.demo.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+// Stabiele JSON-vorm voor paginatie (Spring's PageImpl serialiseren is niet stabiel).
+// Zonder count query (Slice) zijn totalElements en totalPages -1; hasNext is altijd gekend.
+// nextCursor is de cursor voor de volgende pagina (keyset), of null op de laatste pagina;
+// bij een pagina opgehaald met een cursor is page -1.
+public class PageDTO<T> {
+    public static final int UNKNOWN_TOTAL = -1;
+    public static final int UNKNOWN_PAGE = -1;
+
+    private List<T> items;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    private boolean hasNext;
+    private String nextCursor;
+
+    // Constructors
+    public PageDTO() {
+    }
+
+    public PageDTO(List<T> items, int page, int size, long totalElements, int totalPages, boolean hasNext) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+        this.hasNext = hasNext;
+    }
+
+    public static <T> PageDTO<T> of(Slice<?> slice, List<T> items) {
+        if (slice instanceof Page<?> page) {
+            return new PageDTO<>(items, page.getNumber(), page.getSize(), page.getTotalElements(),
+                    page.getTotalPages(), page.hasNext());
+        }
+        return new PageDTO<>(items, slice.getNumber(), slice.getSize(), UNKNOWN_TOTAL, UNKNOWN_TOTAL,
+                slice.hasNext());
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -1,5 +1,7 @@
 package be.ucll.se.demo.dto;
 
+import be.ucll.se.demo.model.CarType;
+
 import java.time.LocalDate;
 import java.time.LocalTime;
 
@@ -14,6 +16,42 @@ public class RentalDTO {
     private ContactDTO contact;
     private String ownerEmail;
 
+    public RentalDTO() {
+    }
+
+    // Voor de JPQL constructor-projectie in RentalRepository: platte kolommen, geneste DTO's worden hier opgebouwd
+    public RentalDTO(Long id,
+            Long carId, String brand, String model, String licensePlate, String carOwnerEmail, CarType type,
+            int numberOfSeats, int numberOfChildSeats, boolean foldingRearSeat, boolean towBar,
+            boolean availableForRent,
+            LocalDate startDate, LocalTime startTime, LocalDate endDate, LocalTime endTime,
+            String street, String number, String postal, String city,
+            String contactName, String contactPhone, String contactEmail,
+            String ownerEmail) {
+        this.id = id;
+        this.car = new CarDTO(carId, brand, model, licensePlate, carOwnerEmail, type, numberOfSeats,
+                numberOfChildSeats, foldingRearSeat, towBar, availableForRent);
+        this.startDate = startDate;
+        this.startTime = startTime;
+        this.endDate = endDate;
+        this.endTime = endTime;
+        // Zoals bij Hibernate: een embedded met enkel null-kolommen is null
+        if (street != null || number != null || postal != null || city != null) {
+            this.pickupPoint = new PickupPointDTO();
+            this.pickupPoint.setStreet(street);
+            this.pickupPoint.setNumber(number);
+            this.pickupPoint.setPostal(postal);
+            this.pickupPoint.setCity(city);
+        }
+        if (contactName != null || contactPhone != null || contactEmail != null) {
+            this.contact = new ContactDTO();
+            this.contact.setName(contactName);
+            this.contact.setPhone(contactPhone);
+            this.contact.setEmail(contactEmail);
+        }
+        this.ownerEmail = ownerEmail;
+    }
+
     // Getters & Setters
     public Long getId() {
         return id;
@@ -0,0 +1,12 @@
+package be.ucll.se.demo.exception;
+
+/**
+ * Thrown when the password hashing worker pool is saturated, so the caller
+ * can answer with 503 instead of queueing more CPU-bound work.
+ */
+public class PasswordHasherBusyException extends RuntimeException {
+
+    public PasswordHasherBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,351 @@
+package be.ucll.se.demo.init;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import be.ucll.se.demo.model.CarType;
+import be.ucll.se.demo.model.NotificationStatus;
+import be.ucll.se.demo.model.NotificationType;
+import be.ucll.se.demo.model.Role;
+import be.ucll.se.demo.model.RoleName;
+import be.ucll.se.demo.repository.RoleRepository;
+import be.ucll.se.demo.service.CarAvailabilityIndex;
+import be.ucll.se.demo.util.PasswordHasher;
+
+/**
+ * Vult de database met synthetische data op productieschaal (profiel
+ * {@code seed}): gebruikers, auto's, huurperiodes, verhuuradvertenties en
+ * notificaties, in JDBC-batches. Aantallen via app.seed.*; met dezelfde
+ * app.seed.random-seed komt telkens dezelfde data.
+ *
+ * Verdelingen: een kleine groep eigenaars heeft de meeste auto's, populaire
+ * auto's worden vaker gehuurd (zonder overlap per auto), en ontvangers van
+ * notificaties zijn scheef verdeeld zoals actieve gebruikers.
+ *
+ * Alle gebruikers krijgen hetzelfde wachtwoord (app.seed.password), dat één
+ * keer gehasht wordt. Notificaties worden nooit als PENDING geseed, zodat de
+ * outbox geen mails naar de synthetische adressen stuurt.
+ *
+ * De rijen gaan via JDBC langs JPA heen, dus na het seeden wordt de
+ * {@link CarAvailabilityIndex} opnieuw opgebouwd.
+ */
+@Component
+@Profile("seed")
+public class BulkDataSeeder implements CommandLineRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkDataSeeder.class);
+
+    private static final String[] BRANDS = { "Volkswagen", "Toyota", "BMW", "Audi", "Renault", "Peugeot",
+            "Mercedes", "Skoda", "Ford", "Tesla", "Kia", "Volvo" };
+    private static final String[] MODELS = { "Golf", "Corolla", "X3", "A4", "Clio", "208", "C-Class", "Octavia",
+            "Focus", "Model 3", "Niro", "XC40" };
+    // Grotere steden komen vaker voor
+    private static final String[] CITIES = { "Brussel", "Brussel", "Brussel", "Antwerpen", "Antwerpen", "Gent",
+            "Gent", "Leuven", "Leuven", "Brugge", "Hasselt", "Mechelen", "Namen", "Luik" };
+    private static final String[] POSTALS = { "1000", "1000", "1000", "2000", "2000", "9000", "9000", "3000",
+            "3000", "8000", "3500", "2800", "5000", "4000" };
+
+    private static final AtomicInteger RUNS = new AtomicInteger();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RoleRepository roleRepository;
+    private final PasswordHasher passwordHasher;
+    private final CarAvailabilityIndex availabilityIndex;
+
+    private final int users;
+    private final int cars;
+    private final int rents;
+    private final int rentals;
+    private final int notifications;
+    private final int batchSize;
+    private final long randomSeed;
+    private final String password;
+
+    @Autowired
+    public BulkDataSeeder(JdbcTemplate jdbcTemplate, RoleRepository roleRepository, PasswordHasher passwordHasher,
+            CarAvailabilityIndex availabilityIndex,
+            @Value("${app.seed.users:10000}") int users,
+            @Value("${app.seed.cars:20000}") int cars,
+            @Value("${app.seed.rents:100000}") int rents,
+            @Value("${app.seed.rentals:20000}") int rentals,
+            @Value("${app.seed.notifications:1000000}") int notifications,
+            @Value("${app.seed.batch-size:5000}") int batchSize,
+            @Value("${app.seed.random-seed:42}") long randomSeed,
+            @Value("${app.seed.password:password123}") String password) {
+        if (users < 2 && (cars > 0 || rents > 0 || notifications > 0)) {
+            throw new IllegalArgumentException("app.seed.users must be at least 2 to seed cars, rents or notifications");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.roleRepository = roleRepository;
+        this.passwordHasher = passwordHasher;
+        this.availabilityIndex = availabilityIndex;
+        this.users = users;
+        this.cars = cars;
+        this.rents = rents;
+        this.rentals = rentals;
+        this.notifications = notifications;
+        this.batchSize = Math.max(1, batchSize);
+        this.randomSeed = randomSeed;
+        this.password = password;
+    }
+
+    @Override
+    public void run(String... args) {
+        seed();
+    }
+
+    public void seed() {
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        // Run-prefix in e-mails en nummerplaten: meerdere runs botsen niet op unieke kolommen
+        String run = Long.toString(System.currentTimeMillis() / 1000 % 2_176_782_336L, 36)
+                + RUNS.incrementAndGet();
+
+        long started = System.nanoTime();
+        List<String> emails = seedUsers(random, run);
+        // De eerste kwart van de gebruikers zijn eigenaars, de rest huurders
+        int owners = Math.max(1, emails.size() / 4);
+        List<String> ownerEmails = emails.subList(0, owners);
+        List<String> renterEmails = emails.subList(owners, emails.size());
+
+        List<long[]> carRows = seedCars(random, run, ownerEmails);
+        seedRents(random, carRows, ownerEmails, renterEmails);
+        seedRentals(random, carRows, ownerEmails);
+        seedNotifications(random, emails);
+        availabilityIndex.rebuild();
+
+        LOGGER.info("Seeded {} users, {} cars, {} rents, {} rentals, {} notifications in {}s",
+                users, cars, rents, rentals, notifications,
+                String.format("%.1f", (System.nanoTime() - started) / 1e9));
+    }
+
+    // ===== USERS =====
+    private List<String> seedUsers(SplittableRandom random, String run) {
+        Map<RoleName, Long> roleIds = ensureRoles();
+        String hash = passwordHasher.hash(password);
+        int owners = Math.max(1, users / 4);
+
+        List<String> emails = new ArrayList<>(users);
+        List<Object[]> userBatch = new ArrayList<>(batchSize);
+        List<Object[]> roleBatch = new ArrayList<>(batchSize * 2);
+        for (int i = 0; i < users; i++) {
+            String username = "seed-" + run + "-" + i;
+            String userId = UUID.nameUUIDFromBytes(username.getBytes(StandardCharsets.UTF_8)).toString();
+            String email = username + "@seed.car4rent.be";
+            // ~2% uitgeschakelde accounts
+            boolean enabled = random.nextInt(50) != 0;
+            emails.add(email);
+            userBatch.add(new Object[] { userId, username, email, hash, enabled, 0 });
+
+            if (i < owners) {
+                roleBatch.add(new Object[] { userId, roleIds.get(RoleName.OWNER) });
+            }
+            // Eigenaars huren ook; een handvol accountants
+            roleBatch.add(new Object[] { userId,
+                    roleIds.get(i % 500 == 499 ? RoleName.ACCOUNTANT : RoleName.RENTER) });
+
+            if (userBatch.size() == batchSize || i == users - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO app_user (user_id, user_name, email, password, enabled, "
+                        + "token_version) VALUES (?, ?, ?, ?, ?, ?)", userBatch);
+                jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", roleBatch);
+                userBatch.clear();
+                roleBatch.clear();
+            }
+        }
+        return emails;
+    }
+
+    private Map<RoleName, Long> ensureRoles() {
+        Map<RoleName, Long> roleIds = new EnumMap<>(RoleName.class);
+        for (RoleName roleName : RoleName.values()) {
+            Role role = roleRepository.findByName(roleName).orElseGet(() -> roleRepository.save(new Role(roleName)));
+            roleIds.put(roleName, role.getId());
+        }
+        return roleIds;
+    }
+
+    // ===== CARS =====
+    // Geeft per auto {id, index van de eigenaar} terug voor de huur- en verhuurdata
+    private List<long[]> seedCars(SplittableRandom random, String run, List<String> ownerEmails) {
+        CarType[] types = CarType.values();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < cars; i++) {
+            int model = random.nextInt(BRANDS.length);
+            int owner = skewed(random, ownerEmails.size());
+            int seats = random.nextInt(10) < 7 ? 5 : (random.nextBoolean() ? 4 : 7);
+            batch.add(new Object[] { BRANDS[model], MODELS[model],
+                    String.format("S-%s-%06d", run, i).toUpperCase(), ownerEmails.get(owner),
+                    types[random.nextInt(types.length)].name(), seats, random.nextInt(10) < 6 ? 0 : random.nextInt(1, 3),
+                    random.nextInt(10) < 8, random.nextInt(10) < 2, random.nextInt(10) < 9 });
+            if (batch.size() == batchSize || i == cars - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO car (brand, model, license_plate, owner_email, type, "
+                        + "number_of_seats, number_of_child_seats, folding_rear_seat, tow_bar, available_for_rent) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        // Ids en eigenaars terug ophalen, in dezelfde volgorde als ingevoegd
+        Map<String, Integer> ownerIndex = new HashMap<>();
+        for (int i = 0; i < ownerEmails.size(); i++) {
+            ownerIndex.put(ownerEmails.get(i), i);
+        }
+        return jdbcTemplate.query("SELECT id, owner_email FROM car WHERE license_plate LIKE ? ORDER BY id",
+                (rs, rowNum) -> new long[] { rs.getLong("id"), ownerIndex.get(rs.getString("owner_email")) },
+                "S-" + run.toUpperCase() + "-%");
+    }
+
+    // ===== RENTS =====
+    private void seedRents(SplittableRandom random, List<long[]> carRows, List<String> ownerEmails,
+            List<String> renterEmails) {
+        if (rents == 0 || carRows.isEmpty() || renterEmails.isEmpty()) {
+            return;
+        }
+        // Huurperiodes lopen van twee jaar geleden tot in de toekomst, zonder overlap per auto
+        LocalDate origin = LocalDate.now().minusYears(2);
+        LocalDate[] nextFree = new LocalDate[carRows.size()];
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < rents; i++) {
+            int car = skewed(random, carRows.size());
+            LocalDate from = (nextFree[car] == null ? origin.plusDays(random.nextInt(60)) : nextFree[car])
+                    .plusDays(random.nextInt(14));
+            LocalDate to = from.plusDays(rentalLength(random));
+            nextFree[car] = to.plusDays(1);
+
+            int renter = skewed(random, renterEmails.size());
+            LocalDate birthDate = LocalDate.of(1950, 1, 1).plusDays(random.nextInt(365 * 55));
+            batch.add(new Object[] { carRows.get(car)[0], Date.valueOf(from), Date.valueOf(to),
+                    ownerEmails.get((int) carRows.get(car)[1]), renterEmails.get(renter),
+                    String.format("+32 4%02d %02d %02d %02d", 70 + random.nextInt(30), random.nextInt(100),
+                            random.nextInt(100), random.nextInt(100)),
+                    String.format("%02d.%02d.%02d-%03d.%02d", birthDate.getYear() % 100, birthDate.getMonthValue(),
+                            birthDate.getDayOfMonth(), random.nextInt(1000), random.nextInt(100)),
+                    Date.valueOf(birthDate), String.format("%010d", random.nextLong(10_000_000_000L)) });
+            if (batch.size() == batchSize || i == rents - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO rent (car_id, start_date, end_date, owner_email, renter_email, "
+                        + "phone_number, national_register_id, birth_date, driving_license_number) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Meestal een weekend of een week, af en toe een maand
+    private static int rentalLength(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 50) {
+            return 1 + random.nextInt(3);
+        }
+        if (roll < 90) {
+            return 4 + random.nextInt(7);
+        }
+        return 11 + random.nextInt(20);
+    }
+
+    // ===== RENTALS =====
+    private void seedRentals(SplittableRandom random, List<long[]> carRows, List<String> ownerEmails) {
+        if (rentals == 0 || carRows.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < rentals; i++) {
+            long[] car = carRows.get(random.nextInt(carRows.size()));
+            String ownerEmail = ownerEmails.get((int) car[1]);
+            int city = random.nextInt(CITIES.length);
+            LocalDate from = today.plusDays(random.nextInt(-30, 180));
+            batch.add(new Object[] { car[0], Date.valueOf(from), LocalTime.of(8 + random.nextInt(4), 0),
+                    Date.valueOf(from.plusDays(rentalLength(random))), LocalTime.of(16 + random.nextInt(4), 0),
+                    "Stationsstraat", String.valueOf(1 + random.nextInt(200)), POSTALS[city], CITIES[city],
+                    ownerEmail.substring(0, ownerEmail.indexOf('@')), "+32 470 00 00 00", ownerEmail, ownerEmail });
+            if (batch.size() == batchSize || i == rentals - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO rental (car_id, start_date, start_time, end_date, end_time, "
+                        + "street, number, postal, city, name, phone, email, owner_email) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // ===== NOTIFICATIONS =====
+    private void seedNotifications(SplittableRandom random, List<String> emails) {
+        if (notifications == 0 || emails.isEmpty()) {
+            return;
+        }
+        Long maxRentId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM rent", Long.class);
+        NotificationType[] types = NotificationType.values();
+        LocalDateTime now = LocalDateTime.now();
+        String sql = "INSERT INTO notifications (recipient_email, type, status, title, message, related_entity_id, "
+                + "related_entity_type, created_at, read_at, sent_at, attempts) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        // Nulls expliciet typeren: niet elke driver kan het type van een null-parameter afleiden
+        int[] argTypes = { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT,
+                Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP, Types.INTEGER };
+
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < notifications; i++) {
+            NotificationType type = types[random.nextInt(types.length)];
+            LocalDateTime createdAt = now.minusMinutes(random.nextLong(90L * 24 * 60));
+            NotificationStatus status = notificationStatus(random, createdAt, now);
+            boolean aboutRent = maxRentId != null && type != NotificationType.SYSTEM_ANNOUNCEMENT
+                    && type != NotificationType.ACCOUNT_ENABLED && type != NotificationType.ACCOUNT_DISABLED;
+
+            batch.add(new Object[] { emails.get(skewed(random, emails.size())), type.name(), status.name(),
+                    "Seed " + type.name().toLowerCase().replace('_', ' '),
+                    "Synthetische notificatie " + i + " voor load- en querytests.",
+                    aboutRent ? 1 + random.nextLong(maxRentId) : null, aboutRent ? "RENT" : null,
+                    Timestamp.valueOf(createdAt),
+                    status == NotificationStatus.READ ? Timestamp.valueOf(createdAt.plusMinutes(5)) : null,
+                    status == NotificationStatus.SENT || status == NotificationStatus.READ
+                            ? Timestamp.valueOf(createdAt.plusSeconds(1))
+                            : null,
+                    // FAILED op het maximum aantal pogingen: de dispatcher probeert ze niet opnieuw
+                    status == NotificationStatus.FAILED ? 5 : 0 });
+            if (batch.size() == batchSize || i == notifications - 1) {
+                jdbcTemplate.batchUpdate(sql, batch, argTypes);
+                batch.clear();
+            }
+        }
+    }
+
+    // Oude notificaties zijn meestal gelezen, recente verstuurd. Geen PENDING:
+    // die zou de dispatcher echt naar de seed-adressen mailen.
+    private static NotificationStatus notificationStatus(SplittableRandom random, LocalDateTime createdAt,
+            LocalDateTime now) {
+        int roll = random.nextInt(100);
+        if (roll < 2) {
+            return NotificationStatus.FAILED;
+        }
+        return roll < (createdAt.isBefore(now.minusDays(7)) ? 80 : 40)
+                ? NotificationStatus.READ
+                : NotificationStatus.SENT;
+    }
+
+    // ===== HELPER METHODS =====
+    // Index in [0, size), scheef naar de lage indexen: de eerste 10% krijgt ongeveer de helft van de treffers
+    static int skewed(SplittableRandom random, int size) {
+        double r = random.nextDouble();
+        return Math.min(size - 1, (int) (size * r * r * r));
+    }
+}
@@ -9,14 +9,12 @@ import be.ucll.se.demo.model.NotificationStatus;
 import be.ucll.se.demo.repository.RoleRepository;
 import be.ucll.se.demo.repository.UserRepository;
 import be.ucll.se.demo.repository.NotificationRepository;
+import be.ucll.se.demo.util.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
@@ -30,6 +28,9 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private PasswordHasher passwordHasher;
+
     @Override
     public void run(String... args) throws Exception {
         initializeRoles();
@@ -49,14 +50,13 @@ public class DataInitializer implements CommandLineRunner {
     }
 
     private void initializeDefaultAdmin() {
-        List<User> admins = userRepository.findByRole(RoleName.ADMIN);
-        boolean adminExists = admins.stream().anyMatch(User::isEnabled);
+        boolean adminExists = userRepository.existsEnabledUserWithRole(RoleName.ADMIN);
 
         if (!adminExists) {
             User admin = new User();
             admin.setUsername("admin");
             admin.setEmail("admin@car4rent.com");
-            admin.setPassword(hashPassword("admin123")); // SHA-256 hash
+            admin.setPassword(passwordHasher.hash("admin123"));
             admin.setEnabled(true);
 
             Role adminRole = roleRepository.findByName(RoleName.ADMIN)
@@ -74,7 +74,7 @@ public class DataInitializer implements CommandLineRunner {
             User owner = new User();
             owner.setUsername("testowner");
             owner.setEmail("owner@test.com");
-            owner.setPassword(hashPassword("password123"));
+            owner.setPassword(passwordHasher.hash("password123"));
             owner.setEnabled(true);
 
             Role ownerRole = roleRepository.findByName(RoleName.OWNER)
@@ -90,7 +90,7 @@ public class DataInitializer implements CommandLineRunner {
             User renter = new User();
             renter.setUsername("testrenter");
             renter.setEmail("renter@test.com");
-            renter.setPassword(hashPassword("password123"));
+            renter.setPassword(passwordHasher.hash("password123"));
             renter.setEnabled(true);
 
             Role renterRole = roleRepository.findByName(RoleName.RENTER)
@@ -106,7 +106,7 @@ public class DataInitializer implements CommandLineRunner {
             User accountant = new User();
             accountant.setUsername("testaccountant");
             accountant.setEmail("accountant@test.com");
-            accountant.setPassword(hashPassword("password123"));
+            accountant.setPassword(passwordHasher.hash("password123"));
             accountant.setEnabled(true);
 
             Role accountantRole = roleRepository.findByName(RoleName.ACCOUNTANT)
@@ -205,23 +205,4 @@ public class DataInitializer implements CommandLineRunner {
 
         notificationRepository.save(notification);
     }
-
-    // Exact dezelfde SHA-256 hashfunctie als in UserService
-    private String hashPassword(String password) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
-
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1)
-                    hexString.append('0');
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to hash password", e);
-        }
-    }
-}
\ No newline at end of file
+}
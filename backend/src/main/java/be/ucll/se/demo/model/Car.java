@@ -4,6 +4,13 @@ import jakarta.persistence.*;
 import java.util.List;
 
 @Entity
+// Catalogus-indexen (GET /cars), ook in V7 voor databases die Flyway bijwerkt.
+// Elke index eindigt op id, de tiebreaker van elke sortering en van de keyset-cursor.
+@Table(name = "car", indexes = {
+        @Index(name = "idx_car_type_seats_id", columnList = "type, number_of_seats, id"),
+        @Index(name = "idx_car_brand_id", columnList = "brand, id"),
+        @Index(name = "idx_car_model_id", columnList = "model, id")
+})
 public class Car {
 
     @Id
@@ -6,7 +6,14 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "notifications")
+// Indexen ook in de Flyway-migraties (V4, V5) voor databases die Flyway bijwerkt
+@Table(name = "notifications", indexes = {
+        // Retentie-cleanup in chunks per status en created_at
+        @Index(name = "idx_notifications_status_created", columnList = "status, created_at"),
+        // Inbox met keyset-paginatie op (created_at, id) per ontvanger
+        @Index(name = "idx_notifications_recipient_created_id",
+                columnList = "recipient_email, created_at desc, id desc")
+})
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -44,6 +51,13 @@ public class Notification {
     @Column(name = "sent_at")
     private LocalDateTime sentAt;
 
+    // Outbox: aantal verzendpogingen en wanneer de volgende poging mag
+    @Column(name = "attempts", nullable = false, columnDefinition = "INTEGER NOT NULL DEFAULT 0")
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
     // Constructors
     public Notification() {
         this.createdAt = LocalDateTime.now();
@@ -150,4 +164,20 @@ public class Notification {
     public void setSentAt(LocalDateTime sentAt) {
         this.sentAt = sentAt;
     }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
+// Index voor GET /rents/renter/{email}, ook in V8 voor databases die Flyway bijwerkt
+@Table(name = "rent", indexes = @Index(name = "idx_rent_renter_email", columnList = "renter_email"))
 public class Rent {
 
     @Id
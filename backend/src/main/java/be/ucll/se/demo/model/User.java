@@ -27,8 +27,8 @@ public class User {
     @JsonIgnore
     private String password;
 
-    // NEW: Role support
-    @ManyToMany(fetch = FetchType.EAGER)
+    // NEW: Role support (LAZY: listings halen de rollen op met een fetch join/entity graph)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "role_id"))
     private Set<Role> roles = new HashSet<>();
 
@@ -36,6 +36,10 @@ public class User {
     @Column(nullable = false)
     private boolean enabled = true;
 
+    // Verhoogd bij wijziging van rollen of status; oudere JWT's worden geweigerd
+    @Column(name = "token_version", nullable = false, columnDefinition = "INTEGER NOT NULL DEFAULT 0")
+    private int tokenVersion;
+
     public User() {
     }
 
@@ -120,6 +124,14 @@ public class User {
         this.enabled = enabled;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     @Override
     public String toString() {
         return "User{" +
@@ -1,18 +1,66 @@
 package be.ucll.se.demo.repository;
 
+import be.ucll.se.demo.dto.CarDTO;
 import be.ucll.se.demo.model.Car;
 import be.ucll.se.demo.model.CarType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
-public interface CarRepository extends JpaRepository<Car, Long> {
+public interface CarRepository extends JpaRepository<Car, Long>, JpaSpecificationExecutor<Car>,
+        CarRepositoryCustom {
+
+    // Projectie rechtstreeks naar CarDTO: geen managed entities, geen dirty-checking snapshots
+    String CAR_DTO_SELECT = "SELECT new be.ucll.se.demo.dto.CarDTO(c.id, c.brand, c.model, c.licensePlate, "
+            + "c.ownerEmail, c.type, c.numberOfSeats, c.numberOfChildSeats, c.foldingRearSeat, c.towBar, "
+            + "c.availableForRent) FROM Car c";
+
     Optional<Car> findByLicensePlate(String licensePlate);
 
+    // SELECT ... FOR UPDATE: serialiseert boekingen per auto, niet globaal
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT c FROM Car c WHERE c.id = :id")
+    Optional<Car> findByIdForUpdate(@Param("id") Long id);
+
     List<Car> findByOwnerEmail(String ownerEmail);
 
     List<Car> findByAvailableForRentTrue();
 
     List<Car> findByType(CarType type);
+
+    // Alle verhuurbare auto's zonder overlappende boeking in [from, to], in één anti-join
+    @Query(CAR_DTO_SELECT + " WHERE c.availableForRent = true " +
+            "AND (:type IS NULL OR c.type = :type) " +
+            "AND c.numberOfSeats >= :minSeats " +
+            "AND NOT EXISTS (SELECT r.id FROM Rent r WHERE r.car = c " +
+            "AND r.startDate <= :to AND r.endDate >= :from)")
+    List<CarDTO> findAvailableDTOsForPeriod(@Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("type") CarType type,
+            @Param("minSeats") int minSeats);
+
+    @Query("SELECT c.id FROM Car c")
+    List<Long> findAllIds();
+
+    @Query(CAR_DTO_SELECT)
+    List<CarDTO> findAllDTOs();
+
+    @Query(CAR_DTO_SELECT + " WHERE c.ownerEmail = :ownerEmail")
+    List<CarDTO> findDTOsByOwnerEmail(@Param("ownerEmail") String ownerEmail);
+
+    @Query(CAR_DTO_SELECT + " WHERE c.availableForRent = true")
+    List<CarDTO> findAvailableDTOs();
+
+    @Query(CAR_DTO_SELECT + " WHERE c.type = :type")
+    List<CarDTO> findDTOsByType(@Param("type") CarType type);
 }
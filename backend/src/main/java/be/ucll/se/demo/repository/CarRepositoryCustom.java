@@ -0,0 +1,17 @@
+package be.ucll.se.demo.repository;
+
+import be.ucll.se.demo.model.Car;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface CarRepositoryCustom {
+
+    // Zoals findAll(spec, pageable), maar zonder count query: haalt size + 1 rijen op voor hasNext
+    Slice<Car> findSlice(Specification<Car> spec, Pageable pageable);
+
+    // Keyset-paginatie: de size rijen na de auto 'after' (laatste rij van de vorige pagina), volgens
+    // sort (eerste sleutel + id). Geen OFFSET, dus elke pagina kost evenveel, hoe diep ook.
+    Slice<Car> findSliceAfter(Specification<Car> spec, Sort sort, int size, Car after);
+}
@@ -0,0 +1,86 @@
+package be.ucll.se.demo.repository;
+
+import be.ucll.se.demo.model.Car;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class CarRepositoryCustomImpl implements CarRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Car> findSlice(Specification<Car> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Car> query = cb.createQuery(Car.class);
+        Root<Car> root = query.from(Car.class);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        int size = pageable.getPageSize();
+        List<Car> rows = entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public Slice<Car> findSliceAfter(Specification<Car> spec, Sort sort, int size, Car after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Car> query = cb.createQuery(Car.class);
+        Root<Car> root = query.from(Car.class);
+        Predicate seek = seek(cb, root, sort, after);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        query.where(predicate != null ? cb.and(predicate, seek) : seek);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        List<Car> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    // (sleutel, id) > (sleutel en id van de vorige laatste rij); id is altijd oplopend de tiebreaker.
+    // Null-sleutels staan altijd achteraan, in beide richtingen (hibernate.order_by.default_null_ordering=last).
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private Predicate seek(CriteriaBuilder cb, Root<Car> root, Sort sort, Car after) {
+        Sort.Order order = sort.iterator().next();
+        Path<Long> id = root.get("id");
+        Long afterId = after.getId();
+        if ("id".equals(order.getProperty())) {
+            return order.isAscending() ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId);
+        }
+
+        Comparable anchor = (Comparable) new BeanWrapperImpl(after).getPropertyValue(order.getProperty());
+        Path<Comparable> key = root.get(order.getProperty());
+        if (anchor == null) {
+            // Al in het null-blok: enkel nog de tiebreaker
+            return cb.and(cb.isNull(key), cb.greaterThan(id, afterId));
+        }
+        return cb.or(
+                order.isAscending() ? cb.greaterThan(key, anchor) : cb.lessThan(key, anchor),
+                cb.and(cb.equal(key, anchor), cb.greaterThan(id, afterId)),
+                cb.isNull(key));
+    }
+}
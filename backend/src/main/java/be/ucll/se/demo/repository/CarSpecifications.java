@@ -0,0 +1,30 @@
+package be.ucll.se.demo.repository;
+
+import be.ucll.se.demo.model.Car;
+import be.ucll.se.demo.model.CarType;
+import org.springframework.data.jpa.domain.Specification;
+
+// Filters voor de gepagineerde catalogus; null betekent "niet filteren"
+public final class CarSpecifications {
+
+    private CarSpecifications() {
+    }
+
+    public static Specification<Car> hasType(CarType type) {
+        return (root, query, cb) -> type == null ? null : cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Car> hasMinSeats(Integer minSeats) {
+        return (root, query, cb) -> minSeats == null ? null
+                : cb.greaterThanOrEqualTo(root.get("numberOfSeats"), minSeats);
+    }
+
+    public static Specification<Car> hasTowBar(Boolean towBar) {
+        return (root, query, cb) -> towBar == null ? null : cb.equal(root.get("towBar"), towBar);
+    }
+
+    public static Specification<Car> hasMinChildSeats(Integer childSeats) {
+        return (root, query, cb) -> childSeats == null ? null
+                : cb.greaterThanOrEqualTo(root.get("numberOfChildSeats"), childSeats);
+    }
+}
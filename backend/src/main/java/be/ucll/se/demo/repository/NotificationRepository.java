@@ -1,14 +1,19 @@
 package be.ucll.se.demo.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import be.ucll.se.demo.model.Notification;
 import be.ucll.se.demo.model.NotificationStatus;
 import be.ucll.se.demo.model.NotificationType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,6 +25,19 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     // Alle notificaties voor een gebruiker
     List<Notification> findByRecipientEmailOrderByCreatedAtDesc(String email);
 
+    // Inbox met keyset-paginatie op (created_at, id): eerste pagina en pagina's na een cursor
+    @Query("SELECT n FROM Notification n WHERE n.recipientEmail = :email " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxFirstPage(@Param("email") String email, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.recipientEmail = :email " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxPageAfter(@Param("email") String email,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
     // Ongelezen notificaties
     List<Notification> findByRecipientEmailAndReadAtIsNullOrderByCreatedAtDesc(String email);
 
@@ -29,20 +47,38 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     // Notificaties per status
     List<Notification> findByStatus(NotificationStatus status);
 
-    // Notificaties ouder dan bepaalde datum (voor cleanup)
-    List<Notification> findByCreatedAtBefore(LocalDateTime date);
+    // Outbox: PENDING of FAILED notificaties die (opnieuw) verstuurd mogen worden.
+    // SKIP LOCKED zodat meerdere instanties nooit dezelfde rij oppikken.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT n FROM Notification n WHERE n.status IN ('PENDING', 'FAILED') " +
+            "AND n.attempts < :maxAttempts " +
+            "AND (n.nextAttemptAt IS NULL OR n.nextAttemptAt <= :now) " +
+            "ORDER BY n.createdAt")
+    List<Notification> findDueForDelivery(@Param("now") LocalDateTime now,
+            @Param("maxAttempts") int maxAttempts,
+            Pageable pageable);
 
     // Aantal ongelezen notificaties
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipientEmail = :email AND n.readAt IS NULL")
     long countUnreadByRecipientEmail(@Param("email") String email);
 
-    // Markeer als gelezen
+    @Query("SELECT n.recipientEmail FROM Notification n WHERE n.id = :id")
+    Optional<String> findRecipientEmailById(@Param("id") Long id);
+
+    // Markeer als gelezen (enkel als ze nog ongelezen was, zodat de teller klopt).
+    // Lezen raakt de leverstatus niet: PENDING/FAILED blijven in de outbox tot de
+    // mail verstuurd is; enkel een al verstuurde notificatie gaat naar READ.
+    String MARK_READ = "UPDATE Notification n SET n.readAt = :readAt, n.status = CASE "
+            + "WHEN n.status = be.ucll.se.demo.model.NotificationStatus.SENT "
+            + "THEN be.ucll.se.demo.model.NotificationStatus.READ ELSE n.status END ";
+
     @Modifying
-    @Query("UPDATE Notification n SET n.readAt = :readAt, n.status = 'READ' WHERE n.id = :id")
+    @Query(MARK_READ + "WHERE n.id = :id AND n.readAt IS NULL")
     int markAsRead(@Param("id") Long id, @Param("readAt") LocalDateTime readAt);
 
     // Markeer alle als gelezen voor gebruiker
     @Modifying
-    @Query("UPDATE Notification n SET n.readAt = :readAt, n.status = 'READ' WHERE n.recipientEmail = :email AND n.readAt IS NULL")
+    @Query(MARK_READ + "WHERE n.recipientEmail = :email AND n.readAt IS NULL")
     int markAllAsReadForUser(@Param("email") String email, @Param("readAt") LocalDateTime readAt);
 }
\ No newline at end of file
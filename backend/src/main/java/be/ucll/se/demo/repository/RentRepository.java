@@ -1,8 +1,11 @@
 package be.ucll.se.demo.repository;
 
+import be.ucll.se.demo.dto.RentDTO;
 import be.ucll.se.demo.model.Rent;
 import be.ucll.se.demo.model.Car;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -11,6 +14,11 @@ import java.util.List;
 @Repository
 public interface RentRepository extends JpaRepository<Rent, Long> {
 
+        // Projectie rechtstreeks naar RentDTO; r.car.id leest enkel de foreign key, zonder join op car
+        String RENT_DTO_SELECT = "SELECT new be.ucll.se.demo.dto.RentDTO(r.id, r.car.id, r.startDate, r.endDate, "
+                        + "r.ownerEmail, r.renterEmail, r.renterInfo.phoneNumber, r.renterInfo.nationalRegisterId, "
+                        + "r.renterInfo.birthDate, r.renterInfo.drivingLicenseNumber) FROM Rent r";
+
         // 1. Vind alle rents voor een bepaalde auto
         List<Rent> findByCar(Car car);
 
@@ -25,7 +33,40 @@ public interface RentRepository extends JpaRepository<Rent, Long> {
         List<Rent> findByCarAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
                         Car car, LocalDate endDate, LocalDate startDate);
 
+        boolean existsByCarIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                        Long carId, LocalDate endDate, LocalDate startDate);
+
         List<Rent> findByStartDate(LocalDate startDate);
 
         List<Rent> findByEndDate(LocalDate endDate);
+
+        @Query(RENT_DTO_SELECT)
+        List<RentDTO> findAllDTOs();
+
+        @Query(RENT_DTO_SELECT + " WHERE r.car.id = :carId")
+        List<RentDTO> findDTOsByCarId(@Param("carId") Long carId);
+
+        // Geïndexeerd op rent.renter_email (V8)
+        @Query(RENT_DTO_SELECT + " WHERE r.renterEmail = :renterEmail")
+        List<RentDTO> findDTOsByRenterEmail(@Param("renterEmail") String renterEmail);
+
+        @Query(RENT_DTO_SELECT + " WHERE r.renterInfo.nationalRegisterId = :nationalRegisterId")
+        List<RentDTO> findDTOsByNationalRegisterId(@Param("nationalRegisterId") String nationalRegisterId);
+
+        @Query(RENT_DTO_SELECT + " WHERE r.car.id = :carId AND r.endDate >= :date")
+        List<RentDTO> findActiveOrUpcomingDTOsByCarId(@Param("carId") Long carId, @Param("date") LocalDate date);
+
+        // Enkel de periodes, voor het opbouwen van de CarAvailabilityIndex
+        @Query("SELECT r.id AS id, r.car.id AS carId, r.startDate AS startDate, r.endDate AS endDate FROM Rent r")
+        List<RentPeriod> findAllPeriods();
+
+        interface RentPeriod {
+                Long getId();
+
+                Long getCarId();
+
+                LocalDate getStartDate();
+
+                LocalDate getEndDate();
+        }
 }
\ No newline at end of file
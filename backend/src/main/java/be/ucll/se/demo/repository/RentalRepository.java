@@ -1,13 +1,25 @@
 package be.ucll.se.demo.repository;
 
+import be.ucll.se.demo.dto.RentalDTO;
 import be.ucll.se.demo.model.Rental;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
 
 public interface RentalRepository extends JpaRepository<Rental, Long> {
 
+    // Projectie naar RentalDTO in één select met join op car, in plaats van Rental + Car entities + mapper
+    String RENTAL_DTO_SELECT = "SELECT new be.ucll.se.demo.dto.RentalDTO(r.id, "
+            + "c.id, c.brand, c.model, c.licensePlate, c.ownerEmail, c.type, c.numberOfSeats, "
+            + "c.numberOfChildSeats, c.foldingRearSeat, c.towBar, c.availableForRent, "
+            + "r.startDate, r.startTime, r.endDate, r.endTime, "
+            + "r.pickupPoint.street, r.pickupPoint.number, r.pickupPoint.postal, r.pickupPoint.city, "
+            + "r.contact.name, r.contact.phone, r.contact.email, r.ownerEmail) "
+            + "FROM Rental r JOIN r.car c";
+
     List<Rental> findByCarId(Long carId);
 
     List<Rental> findByOwnerEmail(String ownerEmail);
@@ -15,4 +27,19 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
     List<Rental> findByStartDate(LocalDate startDate);
 
     List<Rental> findByPickupPoint_City(String city);
+
+    @Query(RENTAL_DTO_SELECT)
+    List<RentalDTO> findAllDTOs();
+
+    @Query(RENTAL_DTO_SELECT + " WHERE c.id = :carId")
+    List<RentalDTO> findDTOsByCarId(@Param("carId") Long carId);
+
+    @Query(RENTAL_DTO_SELECT + " WHERE r.ownerEmail = :ownerEmail")
+    List<RentalDTO> findDTOsByOwnerEmail(@Param("ownerEmail") String ownerEmail);
+
+    @Query(RENTAL_DTO_SELECT + " WHERE r.startDate = :startDate")
+    List<RentalDTO> findDTOsByStartDate(@Param("startDate") LocalDate startDate);
+
+    @Query(RENTAL_DTO_SELECT + " WHERE r.pickupPoint.city = :city")
+    List<RentalDTO> findDTOsByCity(@Param("city") String city);
 }
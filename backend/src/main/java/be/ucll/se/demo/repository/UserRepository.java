@@ -1,13 +1,19 @@
 package be.ucll.se.demo.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import be.ucll.se.demo.model.User;
 import be.ucll.se.demo.model.RoleName;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,13 +24,71 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     Optional<User> findByEmail(String email);
 
+    // Login-lookup in één round trip; beide kolommen hebben een unieke index.
+    // Kan twee rijen geven als iemands gebruikersnaam het e-mailadres van een ander is.
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = "roles")
+    @Query("SELECT u FROM User u WHERE u.email = :login OR u.username = :login")
+    List<User> findByEmailOrUsername(@Param("login") String login);
+
+    boolean existsByUsernameOrEmail(String username, String email);
+
+    // Gebruiker met rollen in één query (roles is LAZY)
+    @EntityGraph(attributePaths = "roles")
+    @Query("SELECT u FROM User u WHERE u.email = :email")
+    Optional<User> findWithRolesByEmail(@Param("email") String email);
+
+    @EntityGraph(attributePaths = "roles")
+    @Query("SELECT u FROM User u")
+    List<User> findAllWithRoles();
+
+    // Paginatie in twee stappen: eerst een pagina id's (met count), dan die
+    // gebruikers met hun rollen. Een fetch join met LIMIT zou Hibernate in
+    // het geheugen laten pagineren.
+    @Query(value = "SELECT u.userId FROM User u",
+            countQuery = "SELECT COUNT(u) FROM User u")
+    Page<String> findUserIds(Pageable pageable);
+
+    @Query(value = "SELECT u.userId FROM User u JOIN u.roles r WHERE r.name = :roleName",
+            countQuery = "SELECT COUNT(u) FROM User u JOIN u.roles r WHERE r.name = :roleName")
+    Page<String> findUserIdsByRole(@Param("roleName") RoleName roleName, Pageable pageable);
+
+    @EntityGraph(attributePaths = "roles")
+    @Query("SELECT u FROM User u WHERE u.userId IN :userIds")
+    List<User> findAllWithRolesByUserIdIn(@Param("userIds") Collection<String> userIds);
+
     // Role-based queries
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName")
     List<User> findByRole(@Param("roleName") RoleName roleName);
 
+    // Zelfde selectie, maar met alle rollen van elke gebruiker in dezelfde query
+    @EntityGraph(attributePaths = "roles")
+    @Query("SELECT u FROM User u WHERE u.userId IN "
+            + "(SELECT u2.userId FROM User u2 JOIN u2.roles r WHERE r.name = :roleName)")
+    List<User> findByRoleWithRoles(@Param("roleName") RoleName roleName);
+
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u JOIN u.roles r "
+            + "WHERE r.name = :roleName AND u.enabled = true")
+    boolean existsEnabledUserWithRole(@Param("roleName") RoleName roleName);
+
     @Query("SELECT u FROM User u WHERE u.enabled = :enabled")
     List<User> findByEnabled(@Param("enabled") boolean enabled);
 
+    // Keyset-pagina van e-mailadressen van actieve gebruikers (voor broadcasts)
+    @Query("SELECT u.email FROM User u WHERE u.enabled = true AND u.email > :after ORDER BY u.email")
+    List<String> findEnabledEmailsAfter(@Param("after") String after, Pageable pageable);
+
+    // Rehash na login in een eigen korte transactie; enkel als de hash intussen niet veranderd is
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.userId = :userId AND u.password = :oldHash")
+    int updatePasswordHash(@Param("userId") String userId, @Param("oldHash") String oldHash,
+            @Param("newHash") String newHash);
+
+    // Enkel de token-versie, voor de revocatiecheck per request
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.email = :email")
+    Optional<Integer> findTokenVersionByEmail(@Param("email") String email);
+
     // Check if user has specific role
     @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u JOIN u.roles r WHERE u.email = :email AND r.name = :roleName")
     boolean userHasRole(@Param("email") String email, @Param("roleName") RoleName roleName);
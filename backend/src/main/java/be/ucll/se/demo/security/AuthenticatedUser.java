@@ -0,0 +1,22 @@
+package be.ucll.se.demo.security;
+
+import java.util.Set;
+
+import be.ucll.se.demo.model.RoleName;
+
+/**
+ * Principal van het huidige request, gezet door {@link JwtAuthenticationFilter}.
+ * Controllers lezen het met {@code @RequestAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE)}.
+ */
+public record AuthenticatedUser(String email, Set<RoleName> roles) {
+
+    public static final String REQUEST_ATTRIBUTE = "be.ucll.se.demo.authenticatedUser";
+
+    public boolean hasRole(RoleName roleName) {
+        return roles.contains(roleName);
+    }
+
+    public boolean isAdmin() {
+        return hasRole(RoleName.ADMIN);
+    }
+}
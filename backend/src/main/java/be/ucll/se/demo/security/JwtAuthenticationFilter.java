@@ -0,0 +1,46 @@
+package be.ucll.se.demo.security;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import be.ucll.se.demo.service.UserService;
+import be.ucll.se.demo.util.JwtUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Verifieert het Bearer token één keer per request en zet de principal als
+ * request attribute. Requests zonder (geldig) token gaan ongewijzigd door;
+ * het is aan de controller om een ontbrekende principal te weigeren.
+ * Geregistreerd in {@link be.ucll.se.demo.config.AuthenticationFilterConfig}.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final UserService userService;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService) {
+        this.jwtUtil = jwtUtil;
+        this.userService = userService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+            jwtUtil.parse(authHeader.substring(BEARER_PREFIX.length()))
+                    .filter(claims -> claims.getSubject() != null)
+                    .ifPresent(claims -> userService.getRolesFromToken(claims)
+                            .ifPresent(roles -> request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE,
+                                    new AuthenticatedUser(claims.getSubject(), roles))));
+        }
+        filterChain.doFilter(request, response);
+    }
+}
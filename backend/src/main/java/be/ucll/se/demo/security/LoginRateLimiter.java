@@ -0,0 +1,123 @@
+package be.ucll.se.demo.security;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Token buckets voor /auth/login, per client-IP en per gebruikersnaam, zodat
+ * credential stuffing afgeremd wordt voor er een DB-lookup of wachtwoordhash
+ * gebeurt. Elke bucket is een CAS op één immutable toestand (geen locks), en
+ * de buckets zitten in een begrensde Caffeine-map. Een bucket die langer dan
+ * zijn volledige bijvultijd niet gebruikt is, is terug vol en mag dus zonder
+ * verlies verdwijnen.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final Limit ipLimit;
+    private final Limit usernameLimit;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> usernameBuckets;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public LoginRateLimiter(
+            @Value("${app.security.login-rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${app.security.login-rate-limit.ip.refill-per-minute:10}") double ipRefillPerMinute,
+            @Value("${app.security.login-rate-limit.username.capacity:5}") int usernameCapacity,
+            @Value("${app.security.login-rate-limit.username.refill-per-minute:5}") double usernameRefillPerMinute,
+            @Value("${app.security.login-rate-limit.max-entries:100000}") long maxEntries) {
+        this(ipCapacity, ipRefillPerMinute, usernameCapacity, usernameRefillPerMinute, maxEntries, System::nanoTime);
+    }
+
+    public LoginRateLimiter(int ipCapacity, double ipRefillPerMinute, int usernameCapacity,
+            double usernameRefillPerMinute, long maxEntries, LongSupplier nanoClock) {
+        this.ipLimit = Limit.of(ipCapacity, ipRefillPerMinute);
+        this.usernameLimit = Limit.of(usernameCapacity, usernameRefillPerMinute);
+        this.ipBuckets = newBucketCache(ipLimit, maxEntries);
+        this.usernameBuckets = newBucketCache(usernameLimit, maxEntries);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Neemt een token uit de bucket van het IP-adres en van de gebruikersnaam.
+     *
+     * @return 0 als de poging toegelaten is, anders het aantal seconden voor
+     *         de Retry-After header
+     */
+    public long tryAcquire(String clientIp, String username) {
+        long now = nanoClock.getAsLong();
+        long waitNanos = ipBuckets.get(clientIp, key -> ipLimit.newBucket(now)).tryConsume(now);
+        if (waitNanos == 0 && username != null && !username.isBlank()) {
+            String key = username.trim().toLowerCase(Locale.ROOT);
+            waitNanos = usernameBuckets.get(key, k -> usernameLimit.newBucket(now)).tryConsume(now);
+        }
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    private static Cache<String, TokenBucket> newBucketCache(Limit limit, long maxEntries) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Duration.ofNanos(limit.fullRefillNanos()))
+                .build();
+    }
+
+    private record Limit(int capacity, double nanosPerToken) {
+
+        static Limit of(int capacity, double refillPerMinute) {
+            if (capacity < 1 || refillPerMinute <= 0) {
+                throw new IllegalArgumentException("Rate limit needs a capacity >= 1 and a positive refill rate");
+            }
+            return new Limit(capacity, TimeUnit.MINUTES.toNanos(1) / refillPerMinute);
+        }
+
+        long fullRefillNanos() {
+            return (long) Math.ceil(capacity * nanosPerToken);
+        }
+
+        TokenBucket newBucket(long now) {
+            return new TokenBucket(this, now);
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private record State(double tokens, long updatedAt) {
+        }
+
+        private final Limit limit;
+        private final AtomicReference<State> state;
+
+        TokenBucket(Limit limit, long now) {
+            this.limit = limit;
+            this.state = new AtomicReference<>(new State(limit.capacity(), now));
+        }
+
+        // 0 bij succes, anders de wachttijd in nanoseconden tot er een token is
+        long tryConsume(long now) {
+            while (true) {
+                State current = state.get();
+                // Een andere thread kan met een latere klokwaarde al bijgewerkt hebben
+                long elapsed = Math.max(0, now - current.updatedAt());
+                double tokens = Math.min(limit.capacity(), current.tokens() + elapsed / limit.nanosPerToken());
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) * limit.nanosPerToken());
+                }
+                State next = new State(tokens - 1, Math.max(now, current.updatedAt()));
+                if (state.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
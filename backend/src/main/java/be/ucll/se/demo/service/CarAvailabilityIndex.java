@@ -0,0 +1,215 @@
+package be.ucll.se.demo.service;
+
+import be.ucll.se.demo.model.Rent;
+import be.ucll.se.demo.repository.CarRepository;
+import be.ucll.se.demo.repository.RentRepository;
+import be.ucll.se.demo.util.TransactionCallbacks;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index van geboekte periodes per auto.
+ *
+ * Elke auto heeft een immutable {@link Timeline}: de boekingen gesorteerd op
+ * startdatum, met per positie de grootste einddatum tot dan toe. Een
+ * overlap-check is daardoor één binary search, zonder DB round trip.
+ * Updates vervangen de timeline van één auto atomisch (copy-on-write), zodat
+ * lezers nooit locken.
+ *
+ * Elke JPA-write op een Rent (ook repository.save/deleteAll buiten
+ * RentService) wordt na commit toegepast via {@link RentAvailabilityListener}.
+ * Writes buiten JPA (JDBC-batches zoals de BulkDataSeeder, deleteAllInBatch,
+ * manuele SQL) ziet de index niet: wie zo schrijft, roept daarna
+ * {@link #rebuild()} aan.
+ */
+@Component
+public class CarAvailabilityIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CarAvailabilityIndex.class);
+
+    private final RentRepository rentRepository;
+    private final CarRepository carRepository;
+
+    private final Map<Long, Timeline> timelines = new ConcurrentHashMap<>();
+    // Bij welke auto elke rent nu in de index staat, zodat een update die van
+    // auto wisselt het oude interval kan weghalen
+    private final Map<Long, Long> carByRent = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public CarAvailabilityIndex(RentRepository rentRepository, CarRepository carRepository) {
+        this.rentRepository = rentRepository;
+        this.carRepository = carRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ready = false;
+        timelines.clear();
+        carByRent.clear();
+
+        for (Long carId : carRepository.findAllIds()) {
+            timelines.put(carId, Timeline.EMPTY);
+        }
+        for (RentRepository.RentPeriod period : rentRepository.findAllPeriods()) {
+            if (period.getStartDate() == null || period.getEndDate() == null) {
+                continue;
+            }
+            timelines.compute(period.getCarId(), (id, current) -> (current == null ? Timeline.EMPTY : current)
+                    .with(period.getId(), period.getStartDate(), period.getEndDate()));
+            carByRent.put(period.getId(), period.getCarId());
+        }
+
+        ready = true;
+        LOGGER.info("Availability index built for {} cars", timelines.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean isAvailable(Long carId, LocalDate startDate, LocalDate endDate) {
+        Timeline timeline = timelines.get(carId);
+        if (timeline == null) {
+            // Auto die na de rebuild is aangemaakt: eenmalig in de DB nakijken
+            if (!carRepository.existsById(carId)) {
+                return false;
+            }
+            timeline = timelines.computeIfAbsent(carId, id -> Timeline.EMPTY);
+        }
+        return !timeline.overlaps(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    // Wordt pas toegepast na commit, zodat een rollback de index niet vervuilt
+    public void recordRent(Rent rent) {
+        Long rentId = rent.getId();
+        Long carId = rent.getCar().getId();
+        LocalDate startDate = rent.getStartDate();
+        LocalDate endDate = rent.getEndDate();
+
+        TransactionCallbacks.afterCommit(() -> {
+            Long previousCarId = rentId != null ? carByRent.put(rentId, carId) : null;
+            if (previousCarId != null && !previousCarId.equals(carId)) {
+                timelines.computeIfPresent(previousCarId, (id, current) -> current.without(rentId));
+            }
+            timelines.compute(carId,
+                    (id, current) -> (current == null ? Timeline.EMPTY : current).with(rentId, startDate, endDate));
+        });
+    }
+
+    // Op rent id: haalt het interval weg bij de auto waar het nu geregistreerd staat
+    public void removeRent(Rent rent) {
+        Long rentId = rent.getId();
+        if (rentId == null) {
+            return;
+        }
+
+        TransactionCallbacks.afterCommit(() -> {
+            Long carId = carByRent.remove(rentId);
+            if (carId != null) {
+                timelines.computeIfPresent(carId, (id, current) -> current.without(rentId));
+            }
+        });
+    }
+
+    public void evictCar(Long carId) {
+        TransactionCallbacks.afterCommit(() -> {
+            timelines.remove(carId);
+            carByRent.values().removeIf(carId::equals);
+        });
+    }
+
+    /**
+     * Immutable, op startdatum gesorteerde lijst van [start, end] intervallen
+     * (epoch days, grenzen inclusief).
+     */
+    static final class Timeline {
+
+        static final Timeline EMPTY = new Timeline(new long[0], new long[0], new long[0]);
+
+        private final long[] rentIds;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+
+        private Timeline(long[] rentIds, long[] starts, long[] ends) {
+            this.rentIds = rentIds;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = new long[ends.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+        }
+
+        int size() {
+            return rentIds.length;
+        }
+
+        boolean overlaps(long start, long end) {
+            // Laatste interval dat begint op of voor 'end'
+            int idx = upperBound(starts, end) - 1;
+            return idx >= 0 && maxEnds[idx] >= start;
+        }
+
+        Timeline with(Long rentId, LocalDate startDate, LocalDate endDate) {
+            Timeline base = rentId != null ? without(rentId) : this;
+            long start = startDate.toEpochDay();
+            int pos = upperBound(base.starts, start);
+            int n = base.size();
+
+            long[] newIds = new long[n + 1];
+            long[] newStarts = new long[n + 1];
+            long[] newEnds = new long[n + 1];
+            copyInserted(base.rentIds, newIds, pos, rentId != null ? rentId : -1L);
+            copyInserted(base.starts, newStarts, pos, start);
+            copyInserted(base.ends, newEnds, pos, endDate.toEpochDay());
+            return new Timeline(newIds, newStarts, newEnds);
+        }
+
+        Timeline without(long rentId) {
+            for (int i = 0; i < rentIds.length; i++) {
+                if (rentIds[i] == rentId) {
+                    return new Timeline(copyRemoved(rentIds, i), copyRemoved(starts, i), copyRemoved(ends, i));
+                }
+            }
+            return this;
+        }
+
+        private static int upperBound(long[] values, long key) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] <= key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static void copyInserted(long[] source, long[] target, int pos, long value) {
+            System.arraycopy(source, 0, target, 0, pos);
+            target[pos] = value;
+            System.arraycopy(source, pos, target, pos + 1, source.length - pos);
+        }
+
+        private static long[] copyRemoved(long[] source, int pos) {
+            long[] target = Arrays.copyOf(source, source.length - 1);
+            System.arraycopy(source, pos + 1, target, pos, source.length - pos - 1);
+            return target;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package be.ucll.se.demo.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import be.ucll.se.demo.dto.CarDTO;
+import be.ucll.se.demo.model.Car;
+import be.ucll.se.demo.model.CarType;
+import be.ucll.se.demo.util.TransactionCallbacks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache voor de auto-catalogus (per id, nummerplaat, type,
+ * eigenaar en de volledige/beschikbare lijst). De catalogus wijzigt zelden
+ * tegenover hoe vaak hij gelezen wordt. Na een wijziging worden enkel de
+ * entries geschrapt waar de auto in zat of voortaan in hoort; de TTL vangt
+ * wijzigingen van andere instanties op.
+ *
+ * Gecachte DTO's en lijsten worden gedeeld tussen requests en mogen dus
+ * niet aangepast worden.
+ *
+ * Als MeterBinder exporteert de cache zijn hit/miss/eviction-statistieken
+ * naar Micrometer (cache=car-catalog.*).
+ */
+@Component
+public class CarCatalogCache implements MeterBinder {
+
+    private final Cache<Long, CarDTO> byId;
+    private final Cache<String, CarDTO> byLicensePlate;
+    private final Cache<CarType, List<CarDTO>> byType;
+    private final Cache<String, List<CarDTO>> byOwner;
+    // true = enkel beschikbare auto's, false = alle auto's
+    private final Cache<Boolean, List<CarDTO>> catalog;
+
+    public CarCatalogCache(
+            @Value("${app.cars.cache.max-size:10000}") long maxSize,
+            @Value("${app.cars.cache.ttl-seconds:300}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.byId = newCache(maxSize, ttl);
+        this.byLicensePlate = newCache(maxSize, ttl);
+        this.byType = newCache(maxSize, ttl);
+        this.byOwner = newCache(maxSize, ttl);
+        this.catalog = newCache(2, ttl);
+    }
+
+    // Een loader die null teruggeeft wordt niet gecachet (onbekende auto)
+    public CarDTO getById(Long id, Function<Long, CarDTO> loader) {
+        return byId.get(id, loader);
+    }
+
+    public CarDTO getByLicensePlate(String licensePlate, Function<String, CarDTO> loader) {
+        return byLicensePlate.get(licensePlate, loader);
+    }
+
+    public List<CarDTO> getByType(CarType type, Function<CarType, List<CarDTO>> loader) {
+        return byType.get(type, key -> List.copyOf(loader.apply(key)));
+    }
+
+    public List<CarDTO> getByOwner(String ownerEmail, Function<String, List<CarDTO>> loader) {
+        return byOwner.get(ownerEmail, key -> List.copyOf(loader.apply(key)));
+    }
+
+    public List<CarDTO> getAll(Supplier<List<CarDTO>> loader) {
+        return catalog.get(false, key -> List.copyOf(loader.get()));
+    }
+
+    public List<CarDTO> getAvailable(Supplier<List<CarDTO>> loader) {
+        return catalog.get(true, key -> List.copyOf(loader.get()));
+    }
+
+    // Na create/update: oude entries van deze auto weg, en de lijsten waar hij nu in hoort
+    public void carSaved(Car car) {
+        Long id = car.getId();
+        CarType type = car.getType();
+        String ownerEmail = car.getOwnerEmail();
+        boolean available = car.isAvailableForRent();
+        TransactionCallbacks.afterCommit(() -> {
+            evictEntriesContaining(id);
+            if (type != null) {
+                byType.invalidate(type);
+            }
+            if (ownerEmail != null) {
+                byOwner.invalidate(ownerEmail);
+            }
+            catalog.invalidate(false);
+            if (available) {
+                catalog.invalidate(true);
+            }
+        });
+    }
+
+    public void carDeleted(Long id) {
+        TransactionCallbacks.afterCommit(() -> evictEntriesContaining(id));
+    }
+
+    // Voor wijzigingen buiten CarService om (bulk-imports, tests die de tabel leegmaken)
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byLicensePlate.invalidateAll();
+        byType.invalidateAll();
+        byOwner.invalidateAll();
+        catalog.invalidateAll();
+    }
+
+    public Map<String, CacheStats> getStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("byId", byId.stats());
+        stats.put("byLicensePlate", byLicensePlate.stats());
+        stats.put("byType", byType.stats());
+        stats.put("byOwner", byOwner.stats());
+        stats.put("catalog", catalog.stats());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, "car-catalog.byId");
+        CaffeineCacheMetrics.monitor(registry, byLicensePlate, "car-catalog.byLicensePlate");
+        CaffeineCacheMetrics.monitor(registry, byType, "car-catalog.byType");
+        CaffeineCacheMetrics.monitor(registry, byOwner, "car-catalog.byOwner");
+        CaffeineCacheMetrics.monitor(registry, catalog, "car-catalog.catalog");
+    }
+
+    // De oude nummerplaat/type/eigenaar kennen we niet meer: zoek de entries op id
+    private void evictEntriesContaining(Long id) {
+        if (id == null) {
+            return;
+        }
+        byId.invalidate(id);
+        byLicensePlate.asMap().values().removeIf(car -> id.equals(car.getId()));
+        byType.asMap().values().removeIf(cars -> containsCar(cars, id));
+        byOwner.asMap().values().removeIf(cars -> containsCar(cars, id));
+        catalog.asMap().values().removeIf(cars -> containsCar(cars, id));
+    }
+
+    private static boolean containsCar(List<CarDTO> cars, Long id) {
+        for (CarDTO car : cars) {
+            if (id.equals(car.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
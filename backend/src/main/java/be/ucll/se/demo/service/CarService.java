@@ -2,43 +2,111 @@ package be.ucll.se.demo.service;
 
 import be.ucll.se.demo.dto.CarDTO;
 import be.ucll.se.demo.dto.CarCreateDTO;
+import be.ucll.se.demo.dto.PageDTO;
 import be.ucll.se.demo.mapper.CarMapper;
 import be.ucll.se.demo.model.Car;
 import be.ucll.se.demo.model.CarType;
 import be.ucll.se.demo.repository.CarRepository;
+import be.ucll.se.demo.repository.CarSpecifications;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class CarService {
 
+    // Kolommen waarop gesorteerd mag worden (elk met een index of de PK als tiebreaker)
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "brand", "model", "type",
+            "numberOfSeats", "numberOfChildSeats");
+
     private final CarRepository carRepository;
     private final CarMapper carMapper;
+    private final CarAvailabilityIndex availabilityIndex;
+    private final CarCatalogCache catalogCache;
 
-    public CarService(CarRepository carRepository, CarMapper carMapper) {
+    public CarService(CarRepository carRepository, CarMapper carMapper,
+            CarAvailabilityIndex availabilityIndex, CarCatalogCache catalogCache) {
         this.carRepository = carRepository;
         this.carMapper = carMapper;
+        this.availabilityIndex = availabilityIndex;
+        this.catalogCache = catalogCache;
     }
 
-    // DTO-based methods
+    // DTO-based methods (catalogus-reads via CarCatalogCache)
+    @Transactional(readOnly = true)
     public List<CarDTO> getAllCarsDTO() {
-        return carRepository.findAll()
-                .stream()
-                .map(carMapper::toDTO)
-                .collect(Collectors.toList());
+        return catalogCache.getAll(carRepository::findAllDTOs);
+    }
+
+    /**
+     * Gefilterde, gesorteerde pagina van de catalogus. Enkel de eerste pagina
+     * telt het totaal (en ook dat niet als alles op die pagina past). Met een
+     * cursor (after, het id van de laatste auto van de vorige pagina) is het
+     * keyset-paginatie op (sorteersleutel, id): de kost van een pagina groeit
+     * niet mee met de diepte of de vloot. page > 0 zonder cursor blijft werken
+     * via OFFSET, maar wordt trager naarmate de pagina dieper ligt.
+     */
+    @Transactional(readOnly = true)
+    public PageDTO<CarDTO> searchCars(int page, int size, String sort, String type, Integer minSeats,
+            Boolean towBar, Integer childSeats, Long after) {
+        CarType carType = null;
+        if (type != null) {
+            try {
+                carType = CarType.valueOf(type.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid car type: " + type);
+            }
+        }
+
+        Specification<Car> spec = Specification.allOf(
+                CarSpecifications.hasType(carType),
+                CarSpecifications.hasMinSeats(minSeats),
+                CarSpecifications.hasTowBar(towBar),
+                CarSpecifications.hasMinChildSeats(childSeats));
+        Sort order = parseSort(sort);
+
+        if (after != null) {
+            Car anchor = carRepository.findById(after)
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid cursor: " + after));
+            Slice<Car> result = carRepository.findSliceAfter(spec, order, size, anchor);
+            PageDTO<CarDTO> dto = toPageDTO(result);
+            dto.setPage(PageDTO.UNKNOWN_PAGE);
+            return dto;
+        }
+        PageRequest pageRequest = PageRequest.of(page, size, order);
+        if (page == 0) {
+            return toPageDTO(carRepository.findAll(spec, pageRequest));
+        }
+        return toPageDTO(carRepository.findSlice(spec, pageRequest));
+    }
+
+    private PageDTO<CarDTO> toPageDTO(Slice<Car> result) {
+        List<Car> cars = result.getContent();
+        PageDTO<CarDTO> dto = PageDTO.of(result, toDTOs(cars));
+        if (result.hasNext()) {
+            dto.setNextCursor(String.valueOf(cars.get(cars.size() - 1).getId()));
+        }
+        return dto;
     }
 
     public Optional<CarDTO> getCarByIdDTO(Long id) {
-        return carRepository.findById(id)
-                .map(carMapper::toDTO);
+        return Optional.ofNullable(catalogCache.getById(id,
+                key -> carRepository.findById(key).map(carMapper::toDTO).orElse(null)));
     }
 
     public CarDTO createCar(CarCreateDTO createDTO) {
         Car car = carMapper.toEntity(createDTO);
         Car savedCar = carRepository.save(car);
+        catalogCache.carSaved(savedCar);
         return carMapper.toDTO(savedCar);
     }
 
@@ -47,6 +115,7 @@ public class CarService {
                 .map(existingCar -> {
                     carMapper.updateEntityFromDTO(existingCar, updateDTO);
                     Car savedCar = carRepository.save(existingCar);
+                    catalogCache.carSaved(savedCar);
                     return carMapper.toDTO(savedCar);
                 });
     }
@@ -54,6 +123,8 @@ public class CarService {
     public boolean deleteCar(Long id) {
         if (carRepository.existsById(id)) {
             carRepository.deleteById(id);
+            availabilityIndex.evictCar(id);
+            catalogCache.carDeleted(id);
             return true;
         }
         return false;
@@ -61,34 +132,50 @@ public class CarService {
 
     // DTO-based query methods
     public Optional<CarDTO> getCarByLicensePlateDTO(String licensePlate) {
-        return carRepository.findByLicensePlate(licensePlate)
-                .map(carMapper::toDTO);
+        return Optional.ofNullable(catalogCache.getByLicensePlate(licensePlate,
+                key -> carRepository.findByLicensePlate(key).map(carMapper::toDTO).orElse(null)));
     }
 
+    @Transactional(readOnly = true)
     public List<CarDTO> getCarsByOwnerEmailDTO(String ownerEmail) {
-        return carRepository.findByOwnerEmail(ownerEmail)
-                .stream()
-                .map(carMapper::toDTO)
-                .collect(Collectors.toList());
+        return catalogCache.getByOwner(ownerEmail, carRepository::findDTOsByOwnerEmail);
     }
 
+    @Transactional(readOnly = true)
     public List<CarDTO> getAvailableCarsDTO() {
-        return carRepository.findByAvailableForRentTrue()
-                .stream()
-                .map(carMapper::toDTO)
-                .collect(Collectors.toList());
+        return catalogCache.getAvailable(carRepository::findAvailableDTOs);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CarDTO> getAvailableCarsForPeriodDTO(LocalDate from, LocalDate to, String type, Integer minSeats) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to are required.");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date must be before end date.");
+        }
+
+        CarType carType = null;
+        if (type != null) {
+            try {
+                carType = CarType.valueOf(type.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid car type: " + type);
+            }
+        }
+
+        return carRepository.findAvailableDTOsForPeriod(from, to, carType, minSeats != null ? minSeats : 0);
     }
 
+    @Transactional(readOnly = true)
     public List<CarDTO> getCarsByTypeDTO(String type) {
+        CarType carType;
         try {
-            CarType carType = CarType.valueOf(type.toUpperCase());
-            return carRepository.findByType(carType)
-                    .stream()
-                    .map(carMapper::toDTO)
-                    .collect(Collectors.toList());
+            carType = CarType.valueOf(type.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid car type: " + type);
         }
+        return catalogCache.getByType(carType, carRepository::findDTOsByType);
     }
 
     // Legacy methods (behouden voor compatibiliteit)
@@ -125,4 +212,29 @@ public class CarService {
             throw new IllegalArgumentException("Invalid car type: " + type);
         }
     }
-}
\ No newline at end of file
+
+    private List<CarDTO> toDTOs(List<Car> cars) {
+        return cars.stream()
+                .map(carMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    // "brand" of "brand,desc"; id als laatste sleutel houdt de volgorde stabiel tussen pagina's
+    private Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by("id");
+        }
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!SORTABLE_PROPERTIES.contains(property) || parts.length > 2) {
+            throw new IllegalArgumentException("Invalid sort: " + sort);
+        }
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length == 2) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid sort: " + sort));
+        }
+        Sort result = Sort.by(direction, property);
+        return "id".equals(property) ? result : result.and(Sort.by("id"));
+    }
+}
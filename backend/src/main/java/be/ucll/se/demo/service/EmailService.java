@@ -1,56 +1,204 @@
 package be.ucll.se.demo.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import be.ucll.se.demo.model.Notification;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
 @Service
 public class EmailService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmailService.class);
+
     @Autowired
     private JavaMailSender mailSender;
 
+    // mail.send: duur van één SMTP-call (mode single/batch, outcome success/failure);
+    // mail.messages: aantal berichten per outcome
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${app.email.from:noreply@car4rent.be}")
     private String fromEmail;
 
     @Value("${app.email.enabled:true}")
     private boolean emailEnabled;
 
+    // Maximaal aantal gelijktijdige SMTP-verbindingen
+    @Value("${app.email.max-concurrency:4}")
+    private int maxConcurrency;
+
+    // Aantal berichten dat over één SMTP-verbinding verstuurd wordt
+    @Value("${app.email.batch-size:20}")
+    private int batchSize;
+
+    private final ExecutorService mailExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private Semaphore connectionPermits;
+
+    @PostConstruct
+    void initConnectionPermits() {
+        connectionPermits = new Semaphore(Math.max(1, maxConcurrency));
+    }
+
+    @PreDestroy
+    void shutdownMailExecutor() {
+        mailExecutor.close();
+    }
+
     public void sendNotificationEmail(Notification notification) {
         if (!emailEnabled) {
-            System.out.println("📧 Email disabled - skipping notification for: " + notification.getRecipientEmail());
+            LOGGER.debug("Email disabled - skipping notification for {}", notification.getRecipientEmail());
             return;
         }
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(notification.getRecipientEmail());
-            helper.setSubject(notification.getTitle());
-
-            String htmlContent = buildEmailTemplate(notification);
-            helper.setText(htmlContent, true);
+            MimeMessage message = buildNotificationMessage(notification);
 
             mailSender.send(message);
+            outcome = "success";
 
-            // Success logging
-            System.out.println("✅ Email sent successfully to: " + notification.getRecipientEmail() +
-                    " | Subject: " + notification.getTitle());
+            LOGGER.debug("Email sent to {} | Subject: {}", notification.getRecipientEmail(), notification.getTitle());
 
         } catch (Exception e) {
-            // Better error logging
-            System.err.println("❌ Failed to send email to: " + notification.getRecipientEmail() +
-                    " | Error: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to send email to {}", notification.getRecipientEmail(), e);
             throw new RuntimeException("Failed to send email notification", e);
+        } finally {
+            sample.stop(meterRegistry.timer("mail.send", "mode", "single", "outcome", outcome));
+            countMessages(outcome, 1);
+        }
+    }
+
+    /**
+     * Verstuurt een reeks notificaties in batches: elke batch gaat via één
+     * {@code JavaMailSender.send(MimeMessage...)} call over één SMTP-verbinding,
+     * op een virtual thread. Hoogstens {@code app.email.max-concurrency} batches
+     * lopen tegelijk. Geeft de notificaties terug die niet verstuurd konden worden.
+     */
+    public Map<Notification, Exception> sendNotificationEmails(List<Notification> notifications) {
+        if (!emailEnabled) {
+            LOGGER.debug("Email disabled - skipping {} notifications", notifications.size());
+            return Map.of();
         }
+
+        Map<Notification, Exception> failures = new ConcurrentHashMap<>();
+        List<Future<?>> batches = new ArrayList<>();
+        for (int from = 0; from < notifications.size(); from += batchSize) {
+            List<Notification> batch = notifications.subList(from, Math.min(from + batchSize, notifications.size()));
+            batches.add(mailExecutor.submit(() -> sendBatch(batch, failures)));
+        }
+
+        for (Future<?> batch : batches) {
+            try {
+                batch.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while sending notification emails", e);
+            } catch (ExecutionException e) {
+                // sendBatch registreert zelf zijn fouten; dit zou niet mogen gebeuren
+                LOGGER.error("Unexpected error in mail batch", e.getCause());
+            }
+        }
+
+        LOGGER.info("Sent {}/{} notification emails", notifications.size() - failures.size(), notifications.size());
+        return failures;
+    }
+
+    private void sendBatch(List<Notification> batch, Map<Notification, Exception> failures) {
+        try {
+            connectionPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.forEach(notification -> failures.put(notification, e));
+            return;
+        }
+
+        try {
+            // MimeMessage heeft geen equals/hashCode: identity is wat we willen
+            Map<MimeMessage, Notification> messages = new LinkedHashMap<>();
+            for (Notification notification : batch) {
+                try {
+                    messages.put(buildNotificationMessage(notification), notification);
+                } catch (MessagingException e) {
+                    failures.put(notification, e);
+                    countMessages("failure", 1);
+                }
+            }
+            if (messages.isEmpty()) {
+                return;
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "failure";
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+                outcome = "success";
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    messages.values().forEach(notification -> failures.put(notification, e));
+                } else {
+                    e.getFailedMessages().forEach((message, cause) -> {
+                        Notification notification = messages.get(message);
+                        if (notification != null) {
+                            failures.put(notification, cause);
+                        }
+                    });
+                }
+            } catch (MailException e) {
+                messages.values().forEach(notification -> failures.put(notification, e));
+            } finally {
+                sample.stop(meterRegistry.timer("mail.send", "mode", "batch", "outcome", outcome));
+                int failed = (int) messages.values().stream().filter(failures::containsKey).count();
+                countMessages("success", messages.size() - failed);
+                countMessages("failure", failed);
+            }
+        } finally {
+            connectionPermits.release();
+        }
+    }
+
+    private void countMessages(String outcome, int count) {
+        if (count > 0) {
+            meterRegistry.counter("mail.messages", "outcome", outcome).increment(count);
+        }
+    }
+
+    private MimeMessage buildNotificationMessage(Notification notification) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail);
+        helper.setTo(notification.getRecipientEmail());
+        helper.setSubject(notification.getTitle());
+
+        String htmlContent = buildEmailTemplate(notification);
+        helper.setText(htmlContent, true);
+        return message;
     }
 
     private String buildEmailTemplate(Notification notification) {
@@ -93,7 +241,7 @@ public class EmailService {
     // Extra method voor testing
     public void sendTestEmail(String toEmail) {
         if (!emailEnabled) {
-            System.out.println("📧 Email disabled - test email skipped");
+            LOGGER.info("Email disabled - test email skipped");
             return;
         }
 
@@ -144,11 +292,10 @@ public class EmailService {
             helper.setText(htmlContent, true);
             mailSender.send(message);
 
-            System.out.println("✅ Test email sent successfully to: " + toEmail);
+            LOGGER.info("Test email sent to {}", toEmail);
 
         } catch (Exception e) {
-            System.err.println("❌ Failed to send test email: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.error("Failed to send test email to {}", toEmail, e);
             throw new RuntimeException("Failed to send test email", e);
         }
     }
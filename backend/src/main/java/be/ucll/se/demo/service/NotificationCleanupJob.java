@@ -0,0 +1,23 @@
+package be.ucll.se.demo.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nachtelijke retentiejob: verwijdert oude notificaties volgens de retentie
+ * per status (zie app.notifications.retention.*).
+ */
+@Component
+public class NotificationCleanupJob {
+
+    private final NotificationService notificationService;
+
+    public NotificationCleanupJob(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @Scheduled(cron = "${app.notifications.retention.cron:0 30 3 * * *}")
+    public void cleanup() {
+        notificationService.cleanupOldNotifications(null);
+    }
+}
@@ -0,0 +1,31 @@
+package be.ucll.se.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Achtergrondjob van de notificatie-outbox: verstuurt PENDING notificaties en
+ * probeert FAILED notificaties opnieuw met backoff, buiten de boekingstransactie.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private final NotificationService notificationService;
+
+    @Value("${app.notifications.dispatch.batch-size:50}")
+    private int batchSize;
+
+    public NotificationDispatcher(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.dispatch.interval-ms:5000}")
+    public void dispatch() {
+        // Blijf batches versturen zolang er volle batches klaarstaan
+        int dispatched;
+        do {
+            dispatched = notificationService.dispatchDueNotifications(batchSize);
+        } while (dispatched == batchSize);
+    }
+}
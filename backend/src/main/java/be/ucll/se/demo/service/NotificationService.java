@@ -1,31 +1,99 @@
 package be.ucll.se.demo.service;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import be.ucll.se.demo.dto.BroadcastResultDTO;
 import be.ucll.se.demo.dto.NotificationDTO;
+import be.ucll.se.demo.dto.NotificationPageDTO;
 import be.ucll.se.demo.model.Notification;
 import be.ucll.se.demo.model.NotificationStatus;
 import be.ucll.se.demo.model.NotificationType;
 import be.ucll.se.demo.model.Rent;
 import be.ucll.se.demo.repository.NotificationRepository;
+import be.ucll.se.demo.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 
 @Service
 @Transactional
 public class NotificationService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationService.class);
+
     @Autowired
     private NotificationRepository notificationRepository;
 
     @Autowired
     private EmailService emailService; // Nieuwe service voor email verzending
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UnreadNotificationCounter unreadCounter;
+
+    @Autowired
+    private NotificationStreamRegistry streamRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.notifications.broadcast.page-size:1000}")
+    private int broadcastPageSize;
+
+    // Retentie per status (dagen); FAILED bewaren we langer voor analyse
+    @Value("${app.notifications.retention.pending-days:30}")
+    private int retentionPendingDays;
+
+    @Value("${app.notifications.retention.sent-days:30}")
+    private int retentionSentDays;
+
+    @Value("${app.notifications.retention.read-days:30}")
+    private int retentionReadDays;
+
+    @Value("${app.notifications.retention.failed-days:90}")
+    private int retentionFailedDays;
+
+    @Value("${app.notifications.retention.chunk-size:5000}")
+    private int cleanupChunkSize;
+
+    @Value("${app.notifications.dispatch.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.notifications.dispatch.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    // Lease op geclaimde notificaties: zo lang blijven andere instanties eraf
+    // terwijl de mails vertrekken. Crasht de instantie, dan worden ze daarna opnieuw opgepikt.
+    @Value("${app.notifications.dispatch.claim-seconds:300}")
+    private long claimSeconds;
+
     // === CORE NOTIFICATION METHODS ===
 
     public Notification createNotification(String recipientEmail, NotificationType type,
@@ -33,33 +101,102 @@ public class NotificationService {
             Long relatedEntityId, String relatedEntityType) {
         Notification notification = new Notification(recipientEmail, type, title, message,
                 relatedEntityId, relatedEntityType);
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        unreadCounter.increment(recipientEmail);
+        streamRegistry.publish(recipientEmail, convertToDTO(saved));
+        return saved;
     }
 
+    // Timer notifications.send met outcome success/failure (mail + status bijwerken).
+    // Buiten een transactie: de status wordt na de SMTP-call apart bewaard.
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public void sendNotification(Notification notification) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
         try {
             // Verstuur email
             emailService.sendNotificationEmail(notification);
-
-            // Update status
-            notification.setStatus(NotificationStatus.SENT);
-            notification.setSentAt(LocalDateTime.now());
-            notificationRepository.save(notification);
-
+            markSent(notification);
         } catch (Exception e) {
-            notification.setStatus(NotificationStatus.FAILED);
-            notificationRepository.save(notification);
-            // Log error
+            outcome = "failure";
+            markFailed(notification, e);
+        } finally {
+            sample.stop(meterRegistry.timer("notifications.send", "outcome", outcome));
         }
     }
 
+    // Outbox: de notificatie wordt enkel als PENDING bewaard binnen de lopende
+    // transactie; de NotificationDispatcher verstuurt ze achteraf.
     public Notification createAndSendNotification(String recipientEmail, NotificationType type,
             String title, String message,
             Long relatedEntityId, String relatedEntityType) {
-        Notification notification = createNotification(recipientEmail, type, title, message,
+        return createNotification(recipientEmail, type, title, message,
                 relatedEntityId, relatedEntityType);
-        sendNotification(notification);
-        return notification;
+    }
+
+    // Verstuurt een batch PENDING/FAILED notificaties waarvan de backoff verstreken is.
+    // Drie stappen zodat geen transactie of rijlock open blijft tijdens SMTP:
+    // claimen (korte transactie), versturen (geen transactie), resultaat vastleggen (korte transactie).
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public int dispatchDueNotifications(int batchSize) {
+        List<Notification> due = transactionTemplate.execute(status -> claimDue(batchSize));
+        if (due == null || due.isEmpty()) {
+            return 0;
+        }
+
+        Map<Notification, Exception> failures = emailService.sendNotificationEmails(due);
+
+        transactionTemplate.executeWithoutResult(status -> recordDelivery(due, failures));
+        return due.size();
+    }
+
+    private List<Notification> claimDue(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> due = notificationRepository.findDueForDelivery(
+                now, maxAttempts, PageRequest.of(0, batchSize));
+        for (Notification notification : due) {
+            notification.setNextAttemptAt(now.plusSeconds(claimSeconds));
+        }
+        notificationRepository.saveAll(due);
+        return due;
+    }
+
+    // Opnieuw inladen: de gebruiker kan de notificatie intussen gelezen hebben
+    private void recordDelivery(List<Notification> sent, Map<Notification, Exception> failures) {
+        Map<Long, Exception> failuresById = new HashMap<>();
+        failures.forEach((notification, failure) -> failuresById.put(notification.getId(), failure));
+
+        List<Long> ids = sent.stream().map(Notification::getId).collect(Collectors.toList());
+        for (Notification notification : notificationRepository.findAllById(ids)) {
+            Exception failure = failuresById.get(notification.getId());
+            if (failure == null) {
+                markSent(notification);
+            } else {
+                markFailed(notification, failure);
+            }
+        }
+    }
+
+    private void markSent(Notification notification) {
+        notification.setAttempts(notification.getAttempts() + 1);
+        // Al gelezen in de inbox voor de mail vertrok: verstuurd én gelezen
+        notification.setStatus(notification.getReadAt() != null ? NotificationStatus.READ : NotificationStatus.SENT);
+        notification.setSentAt(LocalDateTime.now());
+        notification.setNextAttemptAt(null);
+        notificationRepository.save(notification);
+        meterRegistry.counter("notifications.delivery", "outcome", "success").increment();
+    }
+
+    private void markFailed(Notification notification, Exception e) {
+        notification.setAttempts(notification.getAttempts() + 1);
+        // Exponentiële backoff: 30s, 60s, 120s, ... (max 1 uur)
+        long delay = Math.min(backoffSeconds << Math.min(notification.getAttempts() - 1, 16), 3600);
+        notification.setStatus(NotificationStatus.FAILED);
+        notification.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+        notificationRepository.save(notification);
+        meterRegistry.counter("notifications.delivery", "outcome", "failure").increment();
+        LOGGER.warn("Notification {} failed (attempt {}/{}): {}", notification.getId(),
+                notification.getAttempts(), maxAttempts, e.getMessage());
     }
 
     // === BUSINESS-SPECIFIC NOTIFICATIONS ===
@@ -159,6 +296,28 @@ public class NotificationService {
                 .collect(Collectors.toList());
     }
 
+    // Keyset-paginatie: geen OFFSET, dus elke pagina kost evenveel ongeacht de diepte
+    public NotificationPageDTO getUserNotificationsPage(String userEmail, String cursor, int size) {
+        // Eén extra rij ophalen om te weten of er nog een pagina volgt
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Notification> notifications;
+        if (cursor == null || cursor.isBlank()) {
+            notifications = notificationRepository.findInboxFirstPage(userEmail, limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            notifications = notificationRepository.findInboxPageAfter(userEmail,
+                    LocalDateTime.parse(position[0]), Long.parseLong(position[1]), limit);
+        }
+
+        boolean hasMore = notifications.size() > size;
+        List<Notification> page = hasMore ? notifications.subList(0, size) : notifications;
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1)) : null;
+
+        return new NotificationPageDTO(page.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList()), nextCursor);
+    }
+
     public List<NotificationDTO> getUnreadNotifications(String userEmail) {
         List<Notification> notifications = notificationRepository
                 .findByRecipientEmailAndReadAtIsNullOrderByCreatedAtDesc(userEmail);
@@ -168,33 +327,130 @@ public class NotificationService {
     }
 
     public long getUnreadCount(String userEmail) {
-        return notificationRepository.countUnreadByRecipientEmail(userEmail);
+        return unreadCounter.get(userEmail);
     }
 
     public void markAsRead(Long notificationId) {
-        notificationRepository.markAsRead(notificationId, LocalDateTime.now());
+        int updated = notificationRepository.markAsRead(notificationId, LocalDateTime.now());
+        if (updated > 0) {
+            notificationRepository.findRecipientEmailById(notificationId)
+                    .ifPresent(unreadCounter::decrement);
+        }
     }
 
     public void markAllAsRead(String userEmail) {
         notificationRepository.markAllAsReadForUser(userEmail, LocalDateTime.now());
+        unreadCounter.reset(userEmail);
     }
 
     // === ADMIN FUNCTIONS ===
 
-    public void broadcastSystemAnnouncement(String title, String message) {
-        // Verstuur naar alle actieve gebruikers
-        // Je zou hier een query kunnen maken om alle enabled users op te halen
-        // Voor nu een placeholder
+    // Geen omsluitende transactie: elke pagina wordt apart gecommit, zodat een
+    // broadcast naar alle gebruikers geen lange transactie of grote heap vraagt.
+    // De rijen zijn PENDING; de NotificationDispatcher verstuurt de emails.
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public BroadcastResultDTO broadcastSystemAnnouncement(String title, String message) {
+        long started = System.nanoTime();
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        long recipients = 0;
+        int batches = 0;
+
+        String after = "";
+        List<String> emails;
+        do {
+            emails = userRepository.findEnabledEmailsAfter(after, PageRequest.of(0, broadcastPageSize));
+            if (emails.isEmpty()) {
+                break;
+            }
+
+            List<Object[]> rows = emails.stream()
+                    .map(email -> new Object[] { email, NotificationType.SYSTEM_ANNOUNCEMENT.name(),
+                            NotificationStatus.PENDING.name(), title, message, "SYSTEM", createdAt })
+                    .collect(Collectors.toList());
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO notifications (recipient_email, type, status, title, message, " +
+                            "related_entity_type, created_at, attempts) VALUES (?, ?, ?, ?, ?, ?, ?, 0)",
+                    rows);
+
+            unreadCounter.invalidate(emails);
+            recipients += emails.size();
+            batches++;
+            after = emails.get(emails.size() - 1);
+        } while (emails.size() == broadcastPageSize);
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        LOGGER.info("Broadcast queued for {} users in {} ms", recipients, durationMs);
+        return new BroadcastResultDTO(recipients, batches, durationMs);
+    }
+
+    // Verwijdert oude notificaties volgens de retentie per status, of met één
+    // vaste termijn als daysOld meegegeven wordt. Er wordt in chunks van
+    // cleanupChunkSize rijen verwijderd, elk in een eigen korte transactie.
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public Map<NotificationStatus, Integer> cleanupOldNotifications(Integer daysOld) {
+        Map<NotificationStatus, Integer> deleted = new EnumMap<>(NotificationStatus.class);
+        for (NotificationStatus status : NotificationStatus.values()) {
+            int days = daysOld != null ? daysOld : retentionDays(status);
+            LocalDateTime cutoffDate = LocalDateTime.now().minusDays(days);
+            deleted.put(status, deleteInChunks(status, cutoffDate));
+        }
+
+        // Verwijderde rijen kunnen ongelezen zijn geweest
+        if (deleted.values().stream().anyMatch(count -> count > 0)) {
+            unreadCounter.invalidateAll();
+        }
+        LOGGER.info("Notification cleanup deleted {}", deleted);
+        return deleted;
+    }
+
+    private int retentionDays(NotificationStatus status) {
+        return switch (status) {
+            case PENDING -> retentionPendingDays;
+            case SENT -> retentionSentDays;
+            case READ -> retentionReadDays;
+            case FAILED -> retentionFailedDays;
+        };
     }
 
-    public void cleanupOldNotifications(int daysOld) {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
-        List<Notification> oldNotifications = notificationRepository.findByCreatedAtBefore(cutoffDate);
-        notificationRepository.deleteAll(oldNotifications);
+    private int deleteInChunks(NotificationStatus status, LocalDateTime cutoffDate) {
+        // Postgres kent geen DELETE ... LIMIT; de subquery begrenst de chunk
+        String sql = "DELETE FROM notifications WHERE id IN (" +
+                "SELECT id FROM notifications WHERE status = ? AND created_at < ? LIMIT ?)";
+        Timestamp cutoff = Timestamp.valueOf(cutoffDate);
+
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, status.name(), cutoff, cleanupChunkSize);
+            total += deleted;
+        } while (deleted == cleanupChunkSize);
+        return total;
     }
 
     // === HELPER METHODS ===
 
+    private String encodeCursor(Notification last) {
+        String position = last.getCreatedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            // Valideer beide delen voor we ze aan de query geven
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
     private NotificationDTO convertToDTO(Notification notification) {
         return new NotificationDTO(
                 notification.getId(),
@@ -0,0 +1,159 @@
+package be.ucll.se.demo.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import be.ucll.se.demo.dto.NotificationDTO;
+import be.ucll.se.demo.util.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process fan-out van nieuwe notificaties naar open SSE-verbindingen,
+ * per ontvanger. Elke verbinding heeft een begrensde wachtrij die op een
+ * virtual thread leeggemaakt wordt; een client die niet bijhoudt wordt
+ * afgesloten (en haalt na reconnect zijn inbox opnieuw op) in plaats van
+ * de publisher te blokkeren.
+ */
+@Component
+public class NotificationStreamRegistry {
+
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.notifications.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.notifications.stream.queue-size:32}")
+    private int queueSize;
+
+    @Value("${app.notifications.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    public SseEmitter subscribe(String email) {
+        Subscriber subscriber = new Subscriber(email, new SseEmitter(timeoutMs), new ArrayBlockingQueue<>(queueSize));
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> remove(subscriber));
+
+        // Toevoegen binnen compute: een gelijktijdige remove kan de lijst niet
+        // uit de map halen tussen het opzoeken en het toevoegen
+        List<Subscriber> evicted = new ArrayList<>();
+        subscribers.compute(email, (key, userSubscribers) -> {
+            List<Subscriber> list = userSubscribers != null ? userSubscribers : new CopyOnWriteArrayList<>();
+            while (list.size() >= maxConnectionsPerUser) {
+                // Oudste verbinding sluiten, bv. een vergeten tabblad
+                evicted.add(list.remove(0));
+            }
+            list.add(subscriber);
+            return list;
+        });
+        // Buiten compute sluiten: close() past de map zelf aan
+        evicted.forEach(Subscriber::close);
+        return subscriber.emitter;
+    }
+
+    // Pas na commit pushen, zodat clients nooit een teruggedraaide notificatie zien
+    public void publish(String email, NotificationDTO notification) {
+        if (!subscribers.containsKey(email)) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            SseEmitter.SseEventBuilder event = SseEmitter.event()
+                    .id(String.valueOf(notification.getId()))
+                    .name("notification")
+                    .data(notification);
+            for (Subscriber subscriber : subscribers.getOrDefault(email, List.of())) {
+                subscriber.enqueue(event);
+            }
+        });
+    }
+
+    // Houdt proxies/load balancers wakker en ruimt dode verbindingen op
+    @Scheduled(fixedRateString = "${app.notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (List<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                subscriber.enqueue(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    public int getSubscriberCount(String email) {
+        return subscribers.getOrDefault(email, List.of()).size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(Subscriber::close));
+        senders.close();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.email, (email, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private final class Subscriber {
+        private final String email;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(String email, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> queue) {
+            this.email = email;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (!queue.offer(event)) {
+                // Wachtrij vol: trage client, verbinding sluiten
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // Er kan een event binnengekomen zijn net voor draining terug false werd
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        void close() {
+            remove(this);
+            queue.clear();
+            emitter.complete();
+        }
+    }
+}
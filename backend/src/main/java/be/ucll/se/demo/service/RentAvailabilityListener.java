@@ -0,0 +1,47 @@
+package be.ucll.se.demo.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import be.ucll.se.demo.model.Rent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Houdt de {@link CarAvailabilityIndex} bij voor elke JPA-write op
+ * {@link Rent}, ook als die niet via RentService loopt (repository.save,
+ * deleteAll, ...). Geregistreerd in {@code META-INF/orm.xml}, zodat het model
+ * niet van de servicelaag afhangt. Hibernate maakt deze listener aan via
+ * Spring; zonder index in de context (bv. {@code @DataJpaTest}) doet hij niets.
+ */
+public class RentAvailabilityListener {
+
+    private final ObjectProvider<CarAvailabilityIndex> availabilityIndex;
+
+    public RentAvailabilityListener(ObjectProvider<CarAvailabilityIndex> availabilityIndex) {
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void afterSave(Rent rent) {
+        CarAvailabilityIndex index = availabilityIndex.getIfAvailable();
+        if (index == null) {
+            return;
+        }
+        if (rent.getCar() != null && rent.getStartDate() != null && rent.getEndDate() != null) {
+            // Vervangt ook een vorig interval van deze rent, bij dezelfde of een andere auto
+            index.recordRent(rent);
+        } else {
+            index.removeRent(rent);
+        }
+    }
+
+    @PostRemove
+    public void afterRemove(Rent rent) {
+        CarAvailabilityIndex index = availabilityIndex.getIfAvailable();
+        if (index != null) {
+            index.removeRent(rent);
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package be.ucll.se.demo.service;
 
+import be.ucll.se.demo.dto.RentDTO;
 import be.ucll.se.demo.model.Car;
 import be.ucll.se.demo.model.Rent;
 import be.ucll.se.demo.repository.RentRepository;
 import be.ucll.se.demo.repository.CarRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -19,14 +24,25 @@ public class RentService {
     private final NotificationService notificationService;
     private final RentRepository rentRepository;
     private final CarRepository carRepository;
+    private final CarAvailabilityIndex availabilityIndex;
+    private final MeterRegistry meterRegistry;
+    // Vooraf aangemaakt: de index-check zelf duurt maar enkele honderden nanoseconden
+    private final Timer availabilityFromIndex;
+    private final Timer availabilityFromDatabase;
 
     // ✅ Constructor-injectie voor ALLE dependencies
     public RentService(RentRepository rentRepository,
             CarRepository carRepository,
-            NotificationService notificationService) {
+            NotificationService notificationService,
+            CarAvailabilityIndex availabilityIndex,
+            MeterRegistry meterRegistry) {
         this.rentRepository = rentRepository;
         this.carRepository = carRepository;
         this.notificationService = notificationService;
+        this.availabilityIndex = availabilityIndex;
+        this.meterRegistry = meterRegistry;
+        this.availabilityFromIndex = meterRegistry.timer("rent.availability", "source", "index");
+        this.availabilityFromDatabase = meterRegistry.timer("rent.availability", "source", "database");
     }
 
     public List<Rent> getAllRents() {
@@ -37,9 +53,27 @@ public class RentService {
         return rentRepository.findById(id);
     }
 
+    // Timer rent.create per outcome: success, rejected (validatie/overlap) of error.
+    // Meet binnen de transactie, de commit zit er dus niet in.
     public Rent addRent(Rent rent) {
-        // Check of auto bestaat
-        Optional<Car> car = carRepository.findById(rent.getCar().getId());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Rent savedRent = createRent(rent);
+            outcome = "success";
+            return savedRent;
+        } catch (IllegalArgumentException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("rent.create", "outcome", outcome));
+        }
+    }
+
+    private Rent createRent(Rent rent) {
+        // Check of auto bestaat en lock de rij tot het einde van de transactie,
+        // zodat gelijktijdige boekingen voor dezelfde auto na elkaar de overlap-check doen
+        Optional<Car> car = carRepository.findByIdForUpdate(rent.getCar().getId());
         if (car.isEmpty()) {
             throw new IllegalArgumentException("Car with ID " + rent.getCar().getId() + " does not exist.");
         }
@@ -49,7 +83,14 @@ public class RentService {
             throw new IllegalArgumentException("Start date must be before end date.");
         }
 
+        // Geen overlap met bestaande boekingen
+        if (rentRepository.existsByCarIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                car.get().getId(), rent.getEndDate(), rent.getStartDate())) {
+            throw new IllegalArgumentException("Car is already booked for this period.");
+        }
+
         // Save rent first
+        // De availability index volgt via RentAvailabilityListener
         Rent savedRent = rentRepository.save(rent);
 
         // Verstuur notificaties
@@ -90,6 +131,32 @@ public class RentService {
         return rentRepository.findByCarAndEndDateGreaterThanEqual(car, LocalDate.now());
     }
 
+    // Lijsten voor de REST-laag, rechtstreeks als DTO geselecteerd (zie RentRepository)
+    @Transactional(readOnly = true)
+    public List<RentDTO> getAllRentDTOs() {
+        return rentRepository.findAllDTOs();
+    }
+
+    @Transactional(readOnly = true)
+    public List<RentDTO> getRentDTOsByCarId(Long carId) {
+        return rentRepository.findDTOsByCarId(carId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RentDTO> getRentDTOsByRenterEmail(String email) {
+        return rentRepository.findDTOsByRenterEmail(email);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RentDTO> getRentDTOsByNationalRegisterId(String id) {
+        return rentRepository.findDTOsByNationalRegisterId(id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RentDTO> getActiveOrUpcomingRentDTOsForCar(Long carId) {
+        return rentRepository.findActiveOrUpcomingDTOsByCarId(carId, LocalDate.now());
+    }
+
     // Nieuwe methodes voor scheduler/reminder functionaliteit
     public List<Rent> getRentsByStartDate(LocalDate startDate) {
         return rentRepository.findByStartDate(startDate);
@@ -100,7 +167,16 @@ public class RentService {
     }
 
     // Helper methode voor beschikbaarheidscheck
+    // Beantwoord uit de in-memory index; enkel voor die opgebouwd is gaan we naar de DB
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isCarAvailableForPeriod(Long carId, LocalDate startDate, LocalDate endDate) {
+        if (availabilityIndex.isReady()) {
+            return availabilityFromIndex.record(() -> availabilityIndex.isAvailable(carId, startDate, endDate));
+        }
+        return availabilityFromDatabase.record(() -> isCarAvailableInDatabase(carId, startDate, endDate));
+    }
+
+    private boolean isCarAvailableInDatabase(Long carId, LocalDate startDate, LocalDate endDate) {
         Optional<Car> carOpt = carRepository.findById(carId);
         if (carOpt.isEmpty()) {
             return false;
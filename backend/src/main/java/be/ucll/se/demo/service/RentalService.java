@@ -8,11 +8,11 @@ import be.ucll.se.demo.model.Car;
 import be.ucll.se.demo.repository.RentalRepository;
 import be.ucll.se.demo.repository.CarRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class RentalService {
@@ -30,11 +30,10 @@ public class RentalService {
     }
 
     // DTO methods
+    // Lijsten worden rechtstreeks als DTO geselecteerd (zie RentalRepository)
+    @Transactional(readOnly = true)
     public List<RentalDTO> getAllRentalsDTO() {
-        return rentalRepository.findAll()
-                .stream()
-                .map(rentalMapper::toDTO)
-                .collect(Collectors.toList());
+        return rentalRepository.findAllDTOs();
     }
 
     public Optional<RentalDTO> getRentalByIdDTO(Long id) {
@@ -93,32 +92,24 @@ public class RentalService {
     }
 
     // Extra methodes met DTO support
+    @Transactional(readOnly = true)
     public List<RentalDTO> getRentalsByCarIdDTO(Long carId) {
-        return rentalRepository.findByCarId(carId)
-                .stream()
-                .map(rentalMapper::toDTO)
-                .collect(Collectors.toList());
+        return rentalRepository.findDTOsByCarId(carId);
     }
 
+    @Transactional(readOnly = true)
     public List<RentalDTO> getRentalsByOwnerEmailDTO(String ownerEmail) {
-        return rentalRepository.findByOwnerEmail(ownerEmail)
-                .stream()
-                .map(rentalMapper::toDTO)
-                .collect(Collectors.toList());
+        return rentalRepository.findDTOsByOwnerEmail(ownerEmail);
     }
 
+    @Transactional(readOnly = true)
     public List<RentalDTO> getRentalsByStartDateDTO(LocalDate startDate) {
-        return rentalRepository.findByStartDate(startDate)
-                .stream()
-                .map(rentalMapper::toDTO)
-                .collect(Collectors.toList());
+        return rentalRepository.findDTOsByStartDate(startDate);
     }
 
+    @Transactional(readOnly = true)
     public List<RentalDTO> getRentalsByCityDTO(String city) {
-        return rentalRepository.findByPickupPoint_City(city)
-                .stream()
-                .map(rentalMapper::toDTO)
-                .collect(Collectors.toList());
+        return rentalRepository.findDTOsByCity(city);
     }
 
     // Legacy extra methods
@@ -0,0 +1,46 @@
+package be.ucll.se.demo.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import be.ucll.se.demo.repository.UserRepository;
+import be.ucll.se.demo.util.TransactionCallbacks;
+
+/**
+ * Huidige token-versie per gebruiker. Een JWT met een oudere "ver"-claim is
+ * ingetrokken (rollen gewijzigd of account uitgeschakeld). Lokaal wordt de
+ * cache na commit bijgewerkt; andere instanties zien de nieuwe versie ten
+ * laatste na de TTL.
+ */
+@Component
+public class TokenVersionCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, Integer> versions;
+
+    public TokenVersionCache(UserRepository userRepository,
+            @Value("${app.security.token-version-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.token-version-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    // Onbekende gebruiker krijgt -1, zodat geen enkel token nog geldig is
+    public boolean isCurrent(String email, int tokenVersion) {
+        int current = versions.get(email,
+                key -> userRepository.findTokenVersionByEmail(key).orElse(-1));
+        return current == tokenVersion;
+    }
+
+    public void update(String email, int tokenVersion) {
+        TransactionCallbacks.afterCommit(() -> versions.put(email, tokenVersion));
+    }
+}
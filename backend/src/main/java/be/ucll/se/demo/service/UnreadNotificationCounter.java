@@ -0,0 +1,73 @@
+package be.ucll.se.demo.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import be.ucll.se.demo.repository.NotificationRepository;
+import be.ucll.se.demo.util.TransactionCallbacks;
+
+/**
+ * Cache van het aantal ongelezen notificaties per ontvanger, zodat het pollen
+ * van de badge de DB niet raakt. Bij een miss wordt geteld in de DB; daarna
+ * houden createNotification/markAsRead/markAllAsRead de teller bij (na commit).
+ * expireAfterWrite begrenst eventuele drift door gelijktijdige updates.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<String, AtomicLong> counters;
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+            @Value("${app.notifications.unread-cache.max-size:10000}") long maxSize,
+            @Value("${app.notifications.unread-cache.ttl-minutes:10}") long ttlMinutes) {
+        this.notificationRepository = notificationRepository;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    public long get(String recipientEmail) {
+        return counters.get(recipientEmail,
+                email -> new AtomicLong(notificationRepository.countUnreadByRecipientEmail(email))).get();
+    }
+
+    // Enkel bijwerken als de teller al gecached is; anders telt de volgende get() opnieuw
+    public void increment(String recipientEmail) {
+        TransactionCallbacks.afterCommit(() -> {
+            AtomicLong counter = counters.getIfPresent(recipientEmail);
+            if (counter != null) {
+                counter.incrementAndGet();
+            }
+        });
+    }
+
+    public void decrement(String recipientEmail) {
+        TransactionCallbacks.afterCommit(() -> {
+            AtomicLong counter = counters.getIfPresent(recipientEmail);
+            if (counter != null) {
+                counter.updateAndGet(value -> Math.max(0, value - 1));
+            }
+        });
+    }
+
+    public void reset(String recipientEmail) {
+        TransactionCallbacks.afterCommit(() -> counters.put(recipientEmail, new AtomicLong()));
+    }
+
+    public void invalidate(Collection<String> recipientEmails) {
+        TransactionCallbacks.afterCommit(() -> counters.invalidateAll(recipientEmails));
+    }
+
+    public void invalidateAll() {
+        TransactionCallbacks.afterCommit(counters::invalidateAll);
+    }
+}
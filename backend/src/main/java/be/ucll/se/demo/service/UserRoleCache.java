@@ -0,0 +1,49 @@
+package be.ucll.se.demo.service;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import be.ucll.se.demo.model.Role;
+import be.ucll.se.demo.model.RoleName;
+import be.ucll.se.demo.repository.UserRepository;
+import be.ucll.se.demo.util.TransactionCallbacks;
+
+/**
+ * Kortlevende cache van de rollen per gebruiker, voor tokens zonder
+ * rol-claims. Zo raakt de authenticatiefilter de DB niet bij elk request.
+ */
+@Component
+public class UserRoleCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, Set<RoleName>> roles;
+
+    public UserRoleCache(UserRepository userRepository,
+            @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.user-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.roles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public Set<RoleName> get(String email) {
+        return roles.get(email, key -> userRepository.findWithRolesByEmail(key)
+                .map(user -> user.getRoles().stream()
+                        .map(Role::getName)
+                        .collect(Collectors.toUnmodifiableSet()))
+                .orElse(Set.of()));
+    }
+
+    public void invalidate(String email) {
+        TransactionCallbacks.afterCommit(() -> roles.invalidate(email));
+    }
+}
@@ -1,17 +1,20 @@
 package be.ucll.se.demo.service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import be.ucll.se.demo.dto.*;
@@ -20,6 +23,9 @@ import be.ucll.se.demo.model.RoleName;
 import be.ucll.se.demo.model.User;
 import be.ucll.se.demo.repository.RoleRepository;
 import be.ucll.se.demo.repository.UserRepository;
+import be.ucll.se.demo.util.JwtUtil;
+import be.ucll.se.demo.util.PasswordHasher;
+import io.jsonwebtoken.Claims;
 
 @Service
 @Transactional
@@ -31,6 +37,15 @@ public class UserService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    private UserRoleCache userRoleCache;
+
     public boolean register(String username, String email, String password) {
         try {
             registerWithRole(username, email, password, RoleName.RENTER);
@@ -43,10 +58,7 @@ public class UserService {
     // Alternative fix: gebruik persist instead of save
     @Transactional
     public User registerWithRole(String username, String email, String password, RoleName roleName) {
-        boolean usernameTaken = userRepository.findByUsername(username).isPresent();
-        boolean emailTaken = userRepository.findByEmail(email).isPresent();
-
-        if (usernameTaken || emailTaken) {
+        if (userRepository.existsByUsernameOrEmail(username, email)) {
             throw new IllegalArgumentException("Username or email already exists");
         }
 
@@ -59,7 +71,7 @@ public class UserService {
         Role role = roleRepository.findByName(roleName)
                 .orElseThrow(() -> new IllegalArgumentException("Role not found: " + roleName));
 
-        String hashedPassword = hashPassword(password);
+        String hashedPassword = passwordHasher.hash(password);
         User user = new User();
         // NIET user.setUserId() - laat Hibernate de ID genereren
         user.setUsername(username);
@@ -75,13 +87,21 @@ public class UserService {
     }
 
     // EXISTING: Login method
+    // Buiten elke transactie: het hashen wacht op de hasher-pool en mag geen
+    // DB-connectie vasthouden. De lookup en de rehash lopen elk in hun eigen korte transactie.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User login(String username, String password) {
-        Optional<User> userOpt = userRepository.findByUsername(username);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            if (user.isEnabled() && verifyPassword(password, user.getPassword())) {
-                return user;
+        User user = findByEmailOrUsername(username);
+        if (user != null && user.isEnabled() && passwordHasher.matches(password, user.getPassword())) {
+            // Legacy SHA-256 of verouderde cost: meteen opnieuw hashen nu we het wachtwoord kennen
+            if (passwordHasher.needsRehash(user.getPassword())) {
+                String oldHash = user.getPassword();
+                String newHash = passwordHasher.hash(password);
+                if (userRepository.updatePasswordHash(user.getUserId(), oldHash, newHash) > 0) {
+                    user.setPassword(newHash);
+                }
             }
+            return user;
         }
         return null;
     }
@@ -92,11 +112,34 @@ public class UserService {
     }
 
     // NEW: Get all users (Admin only)
+    @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
-        return userRepository.findAll()
+        return userRepository.findAllWithRoles()
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Gepagineerde lijst (Admin only); vast aantal queries per pagina, ongeacht het aantal gebruikers
+    @Transactional(readOnly = true)
+    public PageDTO<UserDTO> getUsersPage(int page, int size, RoleName roleName) {
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by("username"));
+        Page<String> userIds = roleName == null
+                ? userRepository.findUserIds(pageRequest)
+                : userRepository.findUserIdsByRole(roleName, pageRequest);
+        if (userIds.isEmpty()) {
+            return PageDTO.of(userIds, List.of());
+        }
+
+        Map<String, User> usersById = userRepository.findAllWithRolesByUserIdIn(userIds.getContent())
                 .stream()
+                .collect(Collectors.toMap(User::getUserId, user -> user));
+        List<UserDTO> users = userIds.getContent().stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        return PageDTO.of(userIds, users);
     }
 
     // NEW: Get user by ID with DTO
@@ -120,6 +163,7 @@ public class UserService {
             user.addRole(role);
         }
 
+        revokeTokens(user);
         User updatedUser = userRepository.save(user);
         return convertToDTO(updatedUser);
     }
@@ -130,13 +174,15 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
 
         user.setEnabled(!user.isEnabled());
+        revokeTokens(user);
         User updatedUser = userRepository.save(user);
         return convertToDTO(updatedUser);
     }
 
     // NEW: Get users by role
+    @Transactional(readOnly = true)
     public List<UserDTO> getUsersByRole(RoleName roleName) {
-        return userRepository.findByRole(roleName)
+        return userRepository.findByRoleWithRoles(roleName)
                 .stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -152,40 +198,44 @@ public class UserService {
         return userHasRole(email, RoleName.ADMIN);
     }
 
+    /**
+     * Rollen uit een geverifieerd token. Leeg als het token ingetrokken is
+     * (verouderde versie of uitgeschakeld account). Tokens zonder rol-claims
+     * (uitgegeven voor deze wijziging) hebben ook geen versie: ze zijn enkel
+     * geldig zolang de gebruiker nog op versie 0 staat, dus nooit van rol
+     * veranderd of uitgeschakeld is, en gebruiken dan de gecachte DB-rollen.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<Set<RoleName>> getRolesFromToken(Claims claims) {
+        String email = claims.getSubject();
+        Set<RoleName> roles = JwtUtil.getRoles(claims);
+        if (roles == null) {
+            if (!tokenVersionCache.isCurrent(email, 0)) {
+                return Optional.empty();
+            }
+            return Optional.of(userRoleCache.get(email));
+        }
+        Integer version = claims.get(JwtUtil.VERSION_CLAIM, Integer.class);
+        boolean enabled = Boolean.TRUE.equals(claims.get(JwtUtil.ENABLED_CLAIM, Boolean.class));
+        if (!enabled || version == null || !tokenVersionCache.isCurrent(email, version)) {
+            return Optional.empty();
+        }
+        return Optional.of(roles);
+    }
+
     // NEW: Get user's roles
     public Set<RoleName> getUserRoles(String email) {
-        return userRepository.findByEmail(email)
+        return userRepository.findWithRolesByEmail(email)
                 .map(user -> user.getRoles().stream()
                         .map(Role::getName)
                         .collect(Collectors.toSet()))
                 .orElse(Set.of());
     }
 
-    // FIXED: Hash password using SHA-256 with hexadecimal output
-    private String hashPassword(String password) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
-
-            // Convert byte array to hexadecimal string
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 algorithm not found", e);
-        }
-    }
-
-    // FIXED: Verify password against SHA-256 hash
-    private boolean verifyPassword(String plainPassword, String hashedPassword) {
-        String inputHash = hashPassword(plainPassword);
-        return inputHash.equals(hashedPassword);
+    private void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        tokenVersionCache.update(user.getEmail(), user.getTokenVersion());
+        userRoleCache.invalidate(user.getEmail());
     }
 
     // NEW: Convert User to DTO
@@ -206,6 +256,7 @@ public class UserService {
     }
 
     // NEW: Enhanced login response with roles
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoginResponseDTO loginWithRoles(String username, String password) {
         User user = login(username, password);
         if (user != null) {
@@ -218,6 +269,7 @@ public class UserService {
                     .map(Role::getName)
                     .collect(Collectors.toSet());
             response.setRoles(roles);
+            response.setTokenVersion(user.getTokenVersion());
 
             return response;
         }
@@ -225,7 +277,11 @@ public class UserService {
     }
 
     public User findByEmailOrUsername(String emailOrUsername) {
-        return userRepository.findByEmail(emailOrUsername)
-                .orElse(userRepository.findByUsername(emailOrUsername).orElse(null));
+        List<User> matches = userRepository.findByEmailOrUsername(emailOrUsername);
+        // Een match op e-mail gaat voor, zoals bij de vroegere aparte lookups
+        return matches.stream()
+                .filter(user -> emailOrUsername.equals(user.getEmail()))
+                .findFirst()
+                .orElse(matches.isEmpty() ? null : matches.get(0));
     }
 }
\ No newline at end of file
@@ -1,24 +1,66 @@
 package be.ucll.se.demo.util;
 
 import be.ucll.se.demo.config.JwtConfig;
+import be.ucll.se.demo.model.RoleName;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtUtil.class);
+
+    public static final String ROLES_CLAIM = "roles";
+    public static final String ENABLED_CLAIM = "enabled";
+    public static final String VERSION_CLAIM = "ver";
+
     private final JwtConfig config;
     private SecretKey secretKey;
     private long expiration;
 
-    public JwtUtil(JwtConfig config) {
+    // JwtParser is immutable en thread-safe: één keer bouwen in init()
+    private JwtParser parser;
+
+    // Geverifieerde claims per token-hash, vervallen samen met het token
+    private Cache<String, Claims> claimsCache;
+
+    // jwt.validation telt per resultaat (cached/valid/invalid), jwt.verify timet de signatuurcheck
+    private final Counter cachedTokens;
+    private final Counter validTokens;
+    private final Counter invalidTokens;
+    private final Timer verifyTimer;
+
+    public JwtUtil(JwtConfig config, MeterRegistry meterRegistry) {
         this.config = config;
+        this.cachedTokens = meterRegistry.counter("jwt.validation", "result", "cached");
+        this.validTokens = meterRegistry.counter("jwt.validation", "result", "valid");
+        this.invalidTokens = meterRegistry.counter("jwt.validation", "result", "invalid");
+        this.verifyTimer = meterRegistry.timer("jwt.verify");
     }
 
     @PostConstruct
@@ -30,8 +72,30 @@ public class JwtUtil {
 
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
         this.expiration = config.getExpiration();
+        this.parser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(config.getClaimsCacheMaxSize())
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime,
+                            long currentDuration) {
+                        return remainingNanos(claims);
+                    }
 
-        System.out.println("JWT secret succesvol geïnitialiseerd.");
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+
+        LOGGER.info("JWT secret succesvol geïnitialiseerd.");
     }
 
     public String generateToken(String username) {
@@ -43,27 +107,84 @@ public class JwtUtil {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    // Rollen, status en token-versie als claims, zodat rolchecks de DB niet nodig hebben
+    public String generateToken(String email, Set<RoleName> roles, boolean enabled, int tokenVersion) {
+        return Jwts.builder()
+                .setSubject(email)
+                .claim(ROLES_CLAIM, roles.stream().map(RoleName::name).sorted().toList())
+                .claim(ENABLED_CLAIM, enabled)
+                .claim(VERSION_CLAIM, tokenVersion)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + expiration))
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Verifieert het token en geeft de claims terug, of leeg als het token
+     * ongeldig of verlopen is. Een token wordt maar één keer geverifieerd
+     * zolang het in de cache zit.
+     */
+    public Optional<Claims> parse(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String key = tokenHash(token);
+        Claims cached = claimsCache.getIfPresent(key);
+        if (cached != null) {
+            cachedTokens.increment();
+            return Optional.of(cached);
+        }
+        Timer.Sample sample = Timer.start();
         try {
-            Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                claimsCache.put(key, claims);
+            }
+            validTokens.increment();
+            return Optional.of(claims);
         } catch (Exception e) {
-            System.out.println("Ongeldig token: " + e.getMessage());
-            return false;
+            invalidTokens.increment();
+            LOGGER.debug("Ongeldig token: {}", e.getMessage());
+            return Optional.empty();
+        } finally {
+            sample.stop(verifyTimer);
         }
     }
 
+    public boolean validateToken(String token) {
+        return parse(token).isPresent();
+    }
+
     public String getUsernameFromToken(String token) {
-        try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
-        } catch (Exception e) {
-            System.out.println("Kan username niet uit token halen: " + e.getMessage());
+        return parse(token).map(Claims::getSubject).orElse(null);
+    }
+
+    // Null voor tokens van voor de rol-claims; de caller valt dan terug op de DB
+    public static Set<RoleName> getRoles(Claims claims) {
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (roles == null) {
             return null;
         }
+        Set<RoleName> roleNames = EnumSet.noneOf(RoleName.class);
+        for (Object role : roles) {
+            roleNames.add(RoleName.valueOf(role.toString()));
+        }
+        return roleNames;
+    }
+
+    private static long remainingNanos(Claims claims) {
+        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+    }
+
+    // Hash als sleutel zodat de cache geen bruikbare tokens bijhoudt
+    private static String tokenHash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 algorithm not found", e);
+        }
     }
-}
\ No newline at end of file
+}
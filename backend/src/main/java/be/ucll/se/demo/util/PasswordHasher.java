@@ -0,0 +1,167 @@
+package be.ucll.se.demo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import be.ucll.se.demo.exception.PasswordHasherBusyException;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Hasht en verifieert wachtwoorden met BCrypt of Argon2. Oude, ongezouten
+ * SHA-256 hex-hashes worden nog aanvaard zodat bestaande accounts kunnen
+ * inloggen; {@link #needsRehash(String)} geeft aan wanneer de hash na een
+ * geslaagde login vervangen moet worden.
+ *
+ * Het hashwerk draait op een begrensde worker pool: een piek aan logins
+ * bezet hoogstens {@code workers} CPU-kernen, en wat niet in de wachtrij
+ * past wordt geweigerd met {@link PasswordHasherBusyException}.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final int LEGACY_SHA256_HEX_LENGTH = 64;
+    private static final String ARGON2_PREFIX = "$argon2";
+    private static final String BCRYPT_PREFIX = "$2";
+
+    private final String algorithm;
+    private final BCryptPasswordEncoder bcrypt;
+    private final Argon2PasswordEncoder argon2;
+    private final ThreadPoolExecutor workerPool;
+    private final long timeoutMs;
+
+    public PasswordHasher(
+            @Value("${app.security.password.algorithm:bcrypt}") String algorithm,
+            @Value("${app.security.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${app.security.password.argon2-memory-kb:19456}") int argon2MemoryKb,
+            @Value("${app.security.password.argon2-iterations:2}") int argon2Iterations,
+            @Value("${app.security.password.workers:0}") int workers,
+            @Value("${app.security.password.queue-capacity:256}") int queueCapacity,
+            @Value("${app.security.password.timeout-ms:5000}") long timeoutMs) {
+        if (!"bcrypt".equals(algorithm) && !"argon2".equals(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password algorithm: " + algorithm);
+        }
+        this.algorithm = algorithm;
+        this.bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        this.argon2 = new Argon2PasswordEncoder(16, 32, 1, argon2MemoryKb, argon2Iterations);
+        this.timeoutMs = timeoutMs;
+
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workerPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String hash(String rawPassword) {
+        return runOnWorker(() -> currentEncoder().encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String storedHash) {
+        if (rawPassword == null || storedHash == null || storedHash.isEmpty()) {
+            return false;
+        }
+        if (isLegacySha256(storedHash)) {
+            // Goedkoop genoeg om op de request thread te doen
+            byte[] expected = storedHash.toLowerCase().getBytes(StandardCharsets.US_ASCII);
+            byte[] actual = legacySha256(rawPassword).getBytes(StandardCharsets.US_ASCII);
+            return MessageDigest.isEqual(expected, actual);
+        }
+        PasswordEncoder encoder = encoderFor(storedHash);
+        if (encoder == null) {
+            return false;
+        }
+        return runOnWorker(() -> encoder.matches(rawPassword, storedHash));
+    }
+
+    // True voor legacy SHA-256, een ander algoritme dan geconfigureerd, of een lagere cost
+    public boolean needsRehash(String storedHash) {
+        if (storedHash == null || isLegacySha256(storedHash)) {
+            return true;
+        }
+        PasswordEncoder encoder = encoderFor(storedHash);
+        return encoder != currentEncoder() || encoder.upgradeEncoding(storedHash);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdown();
+    }
+
+    private PasswordEncoder currentEncoder() {
+        return "argon2".equals(algorithm) ? argon2 : bcrypt;
+    }
+
+    private PasswordEncoder encoderFor(String storedHash) {
+        if (storedHash.startsWith(ARGON2_PREFIX)) {
+            return argon2;
+        }
+        if (storedHash.startsWith(BCRYPT_PREFIX)) {
+            return bcrypt;
+        }
+        return null;
+    }
+
+    private <T> T runOnWorker(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = workerPool.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHasherBusyException("Password hashing capacity exceeded", e);
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHasherBusyException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static boolean isLegacySha256(String storedHash) {
+        if (storedHash.length() != LEGACY_SHA256_HEX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < storedHash.length(); i++) {
+            if (Character.digit(storedHash.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String legacySha256(String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 algorithm not found", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package be.ucll.se.demo.util;
+
+/**
+ * Diagnostiek van het lopende request, enkel actief voor requests die de
+ * {@link RequestDiagnosticsFilter} geselecteerd heeft. Code op het request-pad
+ * registreert events met {@link #record}; de filter logt ze aan het einde van
+ * het request als één regel. Voor niet-geselecteerde requests is
+ * {@link #record} een ThreadLocal-lookup en verder niets.
+ */
+public final class RequestDiagnostics {
+
+    private static final ThreadLocal<RequestDiagnostics> CURRENT = new ThreadLocal<>();
+
+    private final String requestId;
+    private final StringBuilder events = new StringBuilder();
+
+    private RequestDiagnostics(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    // Waarden worden gelogd zoals ze zijn: geen e-mails of andere persoonsgegevens doorgeven
+    public static void record(String event, String key, Object value) {
+        RequestDiagnostics diagnostics = CURRENT.get();
+        if (diagnostics == null) {
+            return;
+        }
+        StringBuilder events = diagnostics.events;
+        if (!events.isEmpty()) {
+            events.append(", ");
+        }
+        events.append(event).append(' ').append(key).append('=').append(value);
+    }
+
+    static RequestDiagnostics start(String requestId) {
+        RequestDiagnostics diagnostics = new RequestDiagnostics(requestId);
+        CURRENT.set(diagnostics);
+        return diagnostics;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    String requestId() {
+        return requestId;
+    }
+
+    String events() {
+        return events.toString();
+    }
+}
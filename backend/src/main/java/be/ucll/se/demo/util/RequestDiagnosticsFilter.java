@@ -0,0 +1,79 @@
+package be.ucll.se.demo.util;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Selecteert een steekproef van de requests (app.diagnostics.sample-rate) en
+ * logt per geselecteerd request één gestructureerde DEBUG-regel met route,
+ * status, duur en de events uit {@link RequestDiagnostics}. Met de header
+ * {@code X-Diagnostics: true} wordt een request altijd geselecteerd. Staat
+ * standaard uit (app.diagnostics.enabled).
+ *
+ * De route is het gematchte patroon (bv. /rents/renter/{email}), niet de URI:
+ * zo komen e-mails en andere path variables niet in de log.
+ */
+public class RequestDiagnosticsFilter extends OncePerRequestFilter {
+
+    public static final String FORCE_HEADER = "X-Diagnostics";
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestDiagnosticsFilter.class);
+
+    private final boolean enabled;
+    private final double sampleRate;
+
+    public RequestDiagnosticsFilter(boolean enabled, double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("app.diagnostics.sample-rate must be between 0 and 1");
+        }
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        if (!isSampled(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String requestId = Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE);
+        RequestDiagnostics diagnostics = RequestDiagnostics.start(requestId);
+        MDC.put("requestId", requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            LOGGER.debug("diagnostics requestId={} method={} route={} status={} durationMs={} events=[{}]",
+                    requestId, request.getMethod(), route != null ? route : "unmapped", response.getStatus(),
+                    String.format("%.2f", (System.nanoTime() - started) / 1_000_000.0), diagnostics.events());
+            MDC.remove("requestId");
+            RequestDiagnostics.clear();
+        }
+    }
+
+    private boolean isSampled(HttpServletRequest request) {
+        if (!enabled) {
+            return false;
+        }
+        if ("true".equalsIgnoreCase(request.getHeader(FORCE_HEADER))) {
+            return true;
+        }
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,25 @@
+package be.ucll.se.demo.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Voor in-memory state (indexen, caches) die pas mag wijzigen als de DB-wijziging gecommit is
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    // Voert de actie uit na commit, of meteen als er geen transactie loopt
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
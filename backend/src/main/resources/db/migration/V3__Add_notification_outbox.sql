@@ -0,0 +1,10 @@
+-- V3__Add_notification_outbox.sql
+-- Retry bookkeeping for the notification outbox dispatcher
+
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP;
+
+-- Only undelivered rows are polled, keep the index small
+CREATE INDEX IF NOT EXISTS idx_notifications_outbox
+    ON notifications(created_at)
+    WHERE status IN ('PENDING', 'FAILED');
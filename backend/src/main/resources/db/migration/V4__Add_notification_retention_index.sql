@@ -0,0 +1,4 @@
+-- V4__Add_notification_retention_index.sql
+-- Supports the chunked retention cleanup (status + created_at range)
+
+CREATE INDEX IF NOT EXISTS idx_notifications_status_created ON notifications(status, created_at);
@@ -0,0 +1,7 @@
+-- V5__Add_notification_inbox_index.sql
+-- Keyset pagination of the inbox orders by (created_at, id) per recipient.
+-- idx_notifications_recipient_status_created has status in the middle and
+-- cannot serve that order across statuses.
+
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_created_id
+    ON notifications(recipient_email, created_at DESC, id DESC);
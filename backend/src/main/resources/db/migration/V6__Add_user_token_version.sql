@@ -0,0 +1,17 @@
+-- V6__Add_user_token_version.sql
+-- JWT's dragen de rollen als claims; token_version wordt verhoogd bij een
+-- wijziging van rollen of status zodat oudere tokens geweigerd worden.
+-- app_user is de tabel waar de User entity op gemapt is.
+--
+-- Waar Hibernate het schema opbouwt (ddl-auto) komt de kolom uit de entity
+-- (@Column token_version). Deze migratie is voor databases die met Flyway
+-- bijgewerkt worden (profiel prod, baseline-on-migrate). V1 maakt nog de oude
+-- tabel users aan: zonder app_user slaat ze zichzelf over in plaats van de
+-- migrate te laten falen.
+
+DO $$
+BEGIN
+    IF to_regclass('app_user') IS NOT NULL THEN
+        ALTER TABLE app_user ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
+    END IF;
+END $$;
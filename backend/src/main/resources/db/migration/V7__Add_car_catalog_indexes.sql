@@ -0,0 +1,29 @@
+-- V7__Add_car_catalog_indexes.sql
+-- Indexen voor GET /cars?page=&size=&sort=&type=&minSeats=&towBar=&childSeats=.
+-- car is de tabel waar de Car entity op gemapt is. Elke index eindigt op id,
+-- de tiebreaker van elke sortering, zodat ORDER BY ... LIMIT zonder sort stap kan.
+--
+-- De gewone indexen staan ook op de Car entity (@Table indexes), zodat een
+-- schema dat Hibernate opbouwt (ddl-auto) ze ook heeft; de partiële index kan
+-- enkel hier. V1 maakt nog de oude tabel cars aan: zonder car slaat deze
+-- migratie zichzelf over.
+
+DO $$
+BEGIN
+    IF to_regclass('car') IS NOT NULL THEN
+        -- Filter op type (+ minimum aantal zitplaatsen), sortering op id
+        CREATE INDEX IF NOT EXISTS idx_car_type_seats_id
+            ON car(type, number_of_seats, id);
+
+        -- Sortering op merk/model
+        CREATE INDEX IF NOT EXISTS idx_car_brand_id
+            ON car(brand, id);
+
+        CREATE INDEX IF NOT EXISTS idx_car_model_id
+            ON car(model, id);
+
+        -- Trekhaak is zeldzaam: partiële index in plaats van een boolean kolom vooraan
+        CREATE INDEX IF NOT EXISTS idx_car_tow_bar_type_id
+            ON car(type, id) WHERE tow_bar = true;
+    END IF;
+END $$;
@@ -0,0 +1,15 @@
+-- V8__Add_rent_renter_email_index.sql
+-- Index voor GET /rents/renter/{email}. rent is de tabel waar de Rent entity
+-- op gemapt is; zonder index was dit een sequential scan per request.
+--
+-- De index staat ook op de Rent entity (@Table indexes), zodat een schema dat
+-- Hibernate opbouwt (ddl-auto) hem ook heeft. V1 maakt nog de oude tabel rents
+-- aan: zonder rent slaat deze migratie zichzelf over.
+
+DO $$
+BEGIN
+    IF to_regclass('rent') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_rent_renter_email
+            ON rent(renter_email);
+    END IF;
+END $$;
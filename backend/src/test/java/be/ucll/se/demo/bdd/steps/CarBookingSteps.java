@@ -3,6 +3,7 @@ package be.ucll.se.demo.bdd.steps;
 import be.ucll.se.demo.dto.*;
 import be.ucll.se.demo.model.*;
 import be.ucll.se.demo.repository.*;
+import be.ucll.se.demo.service.CarCatalogCache;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.*;
 import io.cucumber.java.Before;
@@ -38,6 +39,9 @@ public class CarBookingSteps {
     @Autowired
     private CarRepository carRepository;
 
+    @Autowired
+    private CarCatalogCache carCatalogCache;
+
     @Autowired
     private RentRepository rentRepository;
 
@@ -67,6 +71,7 @@ public class CarBookingSteps {
             notificationRepository.deleteAll();
             rentRepository.deleteAll();
             carRepository.deleteAll();
+            carCatalogCache.invalidateAll(); // cache kent de verwijderde auto's nog
             userRepository.deleteAll();
         } catch (Exception e) {
             // Database might be empty, that's fine
@@ -0,0 +1,110 @@
+package be.ucll.se.demo.dataJpaTest;
+
+import be.ucll.se.demo.init.BulkDataSeeder;
+import be.ucll.se.demo.repository.RoleRepository;
+import be.ucll.se.demo.service.CarAvailabilityIndex;
+import be.ucll.se.demo.util.PasswordHasher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+class BulkDataSeederTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private JdbcTemplate jdbcTemplate;
+    private PasswordHasher passwordHasher;
+    private CarAvailabilityIndex availabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        availabilityIndex = mock(CarAvailabilityIndex.class);
+        passwordHasher = new PasswordHasher("bcrypt", 4, 19456, 2, 1, 16, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    // ===== SEED TESTS =====
+    @Test
+    void seed_ShouldInsertRequestedRowCounts() {
+        // Batchgrootte kleiner dan de aantallen: ook de laatste, onvolledige batch moet mee
+        seeder(40, 30, 200, 25, 300, 7).seed();
+
+        assertThat(count("app_user")).isEqualTo(40);
+        assertThat(count("car")).isEqualTo(30);
+        assertThat(count("rent")).isEqualTo(200);
+        assertThat(count("rental")).isEqualTo(25);
+        assertThat(count("notifications")).isEqualTo(300);
+        // Elke gebruiker heeft minstens één rol, eigenaars twee
+        assertThat(count("user_roles")).isEqualTo(40 + 10);
+        // JDBC-inserts gaan langs JPA heen: de availability index moet opnieuw opgebouwd zijn
+        verify(availabilityIndex).rebuild();
+    }
+
+    @Test
+    void seed_ShouldNotCreateOverlappingRentsPerCar() {
+        seeder(20, 5, 300, 0, 0, 50).seed();
+
+        Integer overlaps = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rent a JOIN rent b "
+                + "ON a.car_id = b.car_id AND a.id < b.id "
+                + "AND a.start_date <= b.end_date AND b.start_date <= a.end_date", Integer.class);
+        assertThat(overlaps).isZero();
+    }
+
+    @Test
+    void seed_ShouldUseOwnerOfCarOnRentsAndRentals() {
+        seeder(20, 10, 50, 20, 0, 50).seed();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rent r JOIN car c ON r.car_id = c.id "
+                + "WHERE r.owner_email <> c.owner_email", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rental r JOIN car c ON r.car_id = c.id "
+                + "WHERE r.owner_email <> c.owner_email", Integer.class)).isZero();
+    }
+
+    @Test
+    void seed_ShouldNotQueueNotificationsForDelivery() {
+        seeder(20, 5, 20, 0, 500, 100).seed();
+
+        // Niets dat de dispatcher zou oppikken: geen PENDING, FAILED zit op het maximum
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications "
+                + "WHERE status = 'PENDING' OR (status = 'FAILED' AND attempts < 5)", Integer.class)).isZero();
+    }
+
+    @Test
+    void seed_ShouldAllowSeedingTwice() {
+        seeder(10, 5, 10, 5, 10, 50).seed();
+        seeder(10, 5, 10, 5, 10, 50).seed();
+
+        assertThat(count("app_user")).isEqualTo(20);
+        assertThat(count("car")).isEqualTo(10);
+        assertThat(roleRepository.count()).isEqualTo(4);
+    }
+
+    // ===== HELPER METHODS =====
+    private BulkDataSeeder seeder(int users, int cars, int rents, int rentals, int notifications, int batchSize) {
+        return new BulkDataSeeder(jdbcTemplate, roleRepository, passwordHasher, availabilityIndex,
+                users, cars, rents, rentals, notifications, batchSize, 42L, "password123");
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
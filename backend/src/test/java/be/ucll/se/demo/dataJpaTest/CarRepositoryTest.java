@@ -1,16 +1,32 @@
 package be.ucll.se.demo.dataJpaTest;
 
+import be.ucll.se.demo.dto.CarDTO;
+import be.ucll.se.demo.mapper.CarMapper;
 import be.ucll.se.demo.model.Car;
 import be.ucll.se.demo.model.CarType;
+import be.ucll.se.demo.model.Rent;
+import be.ucll.se.demo.model.RenterInfo;
 import be.ucll.se.demo.repository.CarRepository;
+import be.ucll.se.demo.repository.CarSpecifications;
+import be.ucll.se.demo.repository.RentRepository;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -20,6 +36,12 @@ class CarRepositoryTest {
     @Autowired
     private CarRepository carRepository;
 
+    @Autowired
+    private RentRepository rentRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
     @Test
     @DisplayName("Should save and find car by license plate")
     void testFindByLicensePlate() {
@@ -92,4 +114,189 @@ class CarRepositoryTest {
                 .extracting(Car::getLicensePlate)
                 .containsExactlyInAnyOrder("FOC-123", "AUD-456");
     }
+
+    @Test
+    @DisplayName("Should find cars without overlapping rent in period")
+    void testFindAvailableForPeriod() {
+        // arrange
+        Car bookedCar = new Car("Skoda", "Octavia", "SKO-001", "owner@example.com");
+        bookedCar.setType(CarType.SEDAN);
+        bookedCar.setNumberOfSeats(5);
+        bookedCar.setAvailableForRent(true);
+
+        Car freeCar = new Car("Volvo", "V60", "VOL-002", "owner@example.com");
+        freeCar.setType(CarType.SEDAN);
+        freeCar.setNumberOfSeats(5);
+        freeCar.setAvailableForRent(true);
+
+        Car smallCar = new Car("Fiat", "500", "FIA-003", "owner@example.com");
+        smallCar.setType(CarType.SEDAN);
+        smallCar.setNumberOfSeats(2);
+        smallCar.setAvailableForRent(true);
+
+        Car suv = new Car("Kia", "Sportage", "KIA-004", "owner@example.com");
+        suv.setType(CarType.SUV);
+        suv.setNumberOfSeats(5);
+        suv.setAvailableForRent(true);
+
+        carRepository.save(bookedCar);
+        carRepository.save(freeCar);
+        carRepository.save(smallCar);
+        carRepository.save(suv);
+
+        LocalDate from = LocalDate.of(2030, 3, 10);
+        LocalDate to = LocalDate.of(2030, 3, 15);
+        rentRepository.save(new Rent(bookedCar, from.minusDays(2), from, "owner@example.com",
+                "renter@example.com", new RenterInfo()));
+        rentRepository.save(new Rent(freeCar, to.plusDays(1), to.plusDays(3), "owner@example.com",
+                "renter@example.com", new RenterInfo()));
+
+        // act
+        List<CarDTO> sedans = carRepository.findAvailableDTOsForPeriod(from, to, CarType.SEDAN, 4);
+        List<CarDTO> anyType = carRepository.findAvailableDTOsForPeriod(from, to, null, 0);
+
+        // assert
+        assertThat(sedans)
+                .extracting(CarDTO::getLicensePlate)
+                .containsExactly("VOL-002");
+        assertThat(anyType)
+                .extracting(CarDTO::getLicensePlate)
+                .containsExactlyInAnyOrder("VOL-002", "FIA-003", "KIA-004");
+    }
+
+    @Test
+    @DisplayName("Should filter cars with specifications and count only the first page")
+    void testFindAllWithSpecification() {
+        // arrange
+        saveCatalog(12);
+        Specification<Car> suvsWithTowBar = Specification.allOf(
+                CarSpecifications.hasType(CarType.SUV),
+                CarSpecifications.hasTowBar(true),
+                CarSpecifications.hasMinSeats(null));
+
+        // act
+        Page<Car> page = carRepository.findAll(suvsWithTowBar, PageRequest.of(0, 2, Sort.by("id")));
+
+        // assert: SUV's zijn 0, 3, 6, 9; trekhaak op even nummers
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(Car::getLicensePlate)
+                .containsExactly("CAT-000", "CAT-006");
+    }
+
+    @Test
+    @DisplayName("Should return a slice with hasNext without a count query")
+    void testFindSlice() {
+        // arrange
+        saveCatalog(12);
+        Specification<Car> bigCars = CarSpecifications.hasMinSeats(5);
+        Sort sort = Sort.by(Sort.Direction.DESC, "brand").and(Sort.by("id"));
+
+        // act
+        Slice<Car> middle = carRepository.findSlice(bigCars, PageRequest.of(1, 3, sort));
+        Slice<Car> last = carRepository.findSlice(bigCars, PageRequest.of(3, 3, sort));
+
+        // assert: 9 auto's met >= 5 zitplaatsen
+        assertThat(middle.getContent()).hasSize(3);
+        assertThat(middle.hasNext()).isTrue();
+        assertThat(last.getContent()).isEmpty();
+        assertThat(last.hasNext()).isFalse();
+        assertThat(carRepository.findSlice(bigCars, PageRequest.of(2, 3, sort)).hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should page with a keyset cursor in the same order as offset paging")
+    void testFindSliceAfter() {
+        // arrange
+        saveCatalog(12);
+        Specification<Car> bigCars = CarSpecifications.hasMinSeats(5);
+        Sort sort = Sort.by(Sort.Direction.DESC, "brand").and(Sort.by("id"));
+        List<Long> expected = carRepository.findSlice(bigCars, PageRequest.of(0, 9, sort)).getContent()
+                .stream().map(Car::getId).toList();
+
+        // act: pagina's van 4 volgen via de id van de laatste auto
+        Slice<Car> first = carRepository.findSlice(bigCars, PageRequest.of(0, 4, sort));
+        Slice<Car> second = carRepository.findSliceAfter(bigCars, sort, 4, first.getContent().get(3));
+        Slice<Car> third = carRepository.findSliceAfter(bigCars, sort, 4, second.getContent().get(3));
+
+        // assert
+        assertThat(second.hasNext()).isTrue();
+        assertThat(third.hasNext()).isFalse();
+        assertThat(Stream.of(first, second, third)
+                .flatMap(slice -> slice.getContent().stream()).map(Car::getId).toList())
+                .isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should page over null sort keys with a keyset cursor, nulls last")
+    void testFindSliceAfter_WithNullBrands() {
+        // arrange: 7 auto's, waarvan 3 zonder merk
+        saveCatalog(4);
+        for (int i = 0; i < 3; i++) {
+            Car car = new Car(null, "Unbranded" + i, String.format("NUL-%03d", i), "owner@example.com");
+            car.setNumberOfSeats(5);
+            carRepository.save(car);
+        }
+        Specification<Car> all = CarSpecifications.hasMinSeats(0);
+
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            Sort sort = Sort.by(direction, "brand").and(Sort.by("id"));
+
+            // act: eerste pagina zoals de service, daarna telkens 2 via de cursor
+            Slice<Car> page = carRepository.findAll(all, PageRequest.of(0, 2, sort));
+            List<Car> seen = new ArrayList<>(page.getContent());
+            while (page.hasNext()) {
+                page = carRepository.findSliceAfter(all, sort, 2, page.getContent().get(page.getContent().size() - 1));
+                seen.addAll(page.getContent());
+            }
+
+            // assert: elke auto precies één keer, merkloze auto's achteraan
+            assertThat(seen).extracting(Car::getId).doesNotHaveDuplicates().hasSize(7);
+            assertThat(seen.subList(4, 7)).extracting(Car::getBrand).containsOnlyNulls();
+            assertThat(seen.subList(4, 7)).extracting(Car::getId).isSorted();
+        }
+    }
+
+    @Test
+    @DisplayName("Should create the catalog indexes from the entity mapping")
+    void testCatalogIndexesExist() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        List<String> indexes = jdbcTemplate.queryForList("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE LOWER(TABLE_NAME) = 'car'", String.class);
+
+        assertThat(indexes).contains("idx_car_type_seats_id", "idx_car_brand_id", "idx_car_model_id");
+    }
+
+    @Test
+    @DisplayName("Should select DTOs that match the mapped entities")
+    void testFindDTOs() {
+        // arrange
+        saveCatalog(6);
+        CarMapper carMapper = new CarMapper();
+
+        // act
+        List<CarDTO> all = carRepository.findAllDTOs();
+        List<CarDTO> suvs = carRepository.findDTOsByType(CarType.SUV);
+
+        // assert
+        assertThat(all)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(carRepository.findAll().stream().map(carMapper::toDTO).toList());
+        assertThat(suvs).extracting(CarDTO::getLicensePlate).containsExactlyInAnyOrder("CAT-000", "CAT-003");
+        assertThat(carRepository.findDTOsByOwnerEmail("owner@example.com")).hasSize(6);
+        assertThat(carRepository.findAvailableDTOs()).hasSize(6);
+    }
+
+    // Auto i: type SUV/SEDAN/HATCHBACK om beurten, trekhaak als i even is, 4 zitplaatsen als i % 4 == 0
+    private void saveCatalog(int count) {
+        CarType[] types = { CarType.SUV, CarType.SEDAN, CarType.HATCHBACK };
+        for (int i = 0; i < count; i++) {
+            Car car = new Car("Brand" + (i % 5), "Model" + i, String.format("CAT-%03d", i), "owner@example.com");
+            car.setType(types[i % 3]);
+            car.setTowBar(i % 2 == 0);
+            car.setNumberOfSeats(i % 4 == 0 ? 4 : 5);
+            car.setAvailableForRent(true);
+            carRepository.save(car);
+        }
+    }
 }
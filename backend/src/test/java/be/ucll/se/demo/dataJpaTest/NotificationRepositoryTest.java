@@ -0,0 +1,112 @@
+package be.ucll.se.demo.dataJpaTest;
+
+import be.ucll.se.demo.model.Notification;
+import be.ucll.se.demo.model.NotificationStatus;
+import be.ucll.se.demo.model.NotificationType;
+import be.ucll.se.demo.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class NotificationRepositoryTest {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final LocalDateTime base = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        // 5 notificaties, waarvan 2 met exact hetzelfde tijdstip
+        save("renter@example.com", base);
+        save("renter@example.com", base.plusMinutes(1));
+        save("renter@example.com", base.plusMinutes(1));
+        save("renter@example.com", base.plusMinutes(2));
+        save("renter@example.com", base.plusMinutes(3));
+        save("other@example.com", base.plusMinutes(4));
+    }
+
+    @Test
+    void testFindInboxPages_ShouldReturnEveryNotificationOnceInOrder() {
+        List<Notification> seen = new ArrayList<>();
+
+        List<Notification> page = notificationRepository.findInboxFirstPage("renter@example.com",
+                PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            seen.addAll(page);
+            Notification last = page.get(page.size() - 1);
+            page = notificationRepository.findInboxPageAfter("renter@example.com",
+                    last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+        }
+
+        assertThat(seen).hasSize(5);
+        assertThat(seen).extracting(Notification::getId).doesNotHaveDuplicates();
+        assertThat(seen).extracting(Notification::getCreatedAt)
+                .isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThat(seen).extracting(Notification::getRecipientEmail).containsOnly("renter@example.com");
+    }
+
+    @Test
+    void testCountUnreadByRecipientEmail() {
+        assertThat(notificationRepository.countUnreadByRecipientEmail("renter@example.com")).isEqualTo(5);
+        assertThat(notificationRepository.countUnreadByRecipientEmail("other@example.com")).isEqualTo(1);
+    }
+
+    @Test
+    void testMarkAsRead_ShouldKeepUndeliveredNotificationsInOutbox() {
+        Notification pending = save("reader@example.com", base);
+        Notification sent = save("reader@example.com", base.plusMinutes(1));
+        sent.setStatus(NotificationStatus.SENT);
+        notificationRepository.saveAndFlush(sent);
+
+        assertThat(notificationRepository.markAsRead(pending.getId(), base.plusHours(1))).isEqualTo(1);
+        assertThat(notificationRepository.markAllAsReadForUser("reader@example.com", base.plusHours(1)))
+                .isEqualTo(1);
+        entityManager.clear();
+
+        Notification reloadedPending = notificationRepository.findById(pending.getId()).orElseThrow();
+        assertThat(reloadedPending.getReadAt()).isNotNull();
+        assertThat(reloadedPending.getStatus()).isEqualTo(NotificationStatus.PENDING);
+        assertThat(notificationRepository.findById(sent.getId()).orElseThrow().getStatus())
+                .isEqualTo(NotificationStatus.READ);
+        assertThat(notificationRepository.findDueForDelivery(base.plusHours(2), 5, PageRequest.of(0, 10)))
+                .extracting(Notification::getId)
+                .contains(pending.getId())
+                .doesNotContain(sent.getId());
+    }
+
+    private Notification save(String email, LocalDateTime createdAt) {
+        Notification notification = new Notification(email, NotificationType.SYSTEM_ANNOUNCEMENT,
+                "Aankondiging", "Bericht", null, "SYSTEM");
+        notification.setCreatedAt(createdAt);
+        return notificationRepository.save(notification);
+    }
+
+    @Test
+    void testIndexes_ShouldBeCreatedFromEntityMapping() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        List<String> indexes = jdbcTemplate.queryForList("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE LOWER(TABLE_NAME) = 'notifications'", String.class);
+
+        assertThat(indexes).contains("idx_notifications_status_created", "idx_notifications_recipient_created_id");
+    }
+}
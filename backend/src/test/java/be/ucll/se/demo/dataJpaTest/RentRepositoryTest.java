@@ -1,5 +1,7 @@
 package be.ucll.se.demo.dataJpaTest;
 
+import be.ucll.se.demo.dto.RentDTO;
+import be.ucll.se.demo.mapper.RentMapper;
 import be.ucll.se.demo.model.Car;
 import be.ucll.se.demo.model.Rent;
 import be.ucll.se.demo.model.RenterInfo;
@@ -9,7 +11,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import javax.sql.DataSource;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -24,6 +28,9 @@ class RentRepositoryTest {
     @Autowired
     private CarRepository carRepository;
 
+    @Autowired
+    private DataSource dataSource;
+
     private Car car;
     private Rent rent;
 
@@ -89,4 +96,34 @@ class RentRepositoryTest {
                 LocalDate.now());
         assertThat(rents).hasSize(1);
     }
+
+    @Test
+    void testFindDTOs_ShouldMatchMappedEntity() {
+        RentDTO expected = RentMapper.toDto(rent);
+
+        assertThat(rentRepository.findAllDTOs())
+                .singleElement()
+                .usingRecursiveComparison()
+                .isEqualTo(expected);
+        assertThat(rentRepository.findDTOsByCarId(car.getId())).hasSize(1);
+        assertThat(rentRepository.findDTOsByNationalRegisterId("99.99.99-999.99")).hasSize(1);
+        assertThat(rentRepository.findDTOsByRenterEmail("renter@example.com"))
+                .singleElement()
+                .usingRecursiveComparison()
+                .isEqualTo(expected);
+        assertThat(rentRepository.findDTOsByRenterEmail("someone-else@example.com")).isEmpty();
+        assertThat(rentRepository.findActiveOrUpcomingDTOsByCarId(car.getId(), LocalDate.now())).hasSize(1);
+        assertThat(rentRepository.findActiveOrUpcomingDTOsByCarId(car.getId(), LocalDate.now().plusDays(8)))
+                .isEmpty();
+    }
+
+    @Test
+    void testRenterEmailIndex_ShouldBeCreatedFromEntityMapping() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        List<String> indexes = jdbcTemplate.queryForList("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE LOWER(TABLE_NAME) = 'rent'", String.class);
+
+        assertThat(indexes).contains("idx_rent_renter_email");
+    }
 }
@@ -1,5 +1,8 @@
 package be.ucll.se.demo.dataJpaTest;
 
+import be.ucll.se.demo.dto.RentalDTO;
+import be.ucll.se.demo.mapper.CarMapper;
+import be.ucll.se.demo.mapper.RentalMapper;
 import be.ucll.se.demo.model.*;
 import be.ucll.se.demo.repository.CarRepository;
 import be.ucll.se.demo.repository.RentalRepository;
@@ -85,4 +88,33 @@ class RentalRepositoryTest {
         assertThat(rentals).hasSize(1);
         assertThat(rentals.get(0).getCar().getModel()).isEqualTo("i3");
     }
+
+    @Test
+    @DisplayName("DTO-projecties geven hetzelfde resultaat als entity + mapper")
+    void findDTOs_ShouldMatchMappedEntity() {
+        Car car = new Car("Volvo", "XC40", "3-GHI-789", "owner@example.com");
+        car.setType(CarType.SUV);
+        car = carRepository.save(car);
+
+        Rental rental = rentalRepository.save(new Rental(
+                car,
+                LocalDate.of(2025, 3, 1),
+                LocalTime.of(8, 30),
+                LocalDate.of(2025, 3, 4),
+                LocalTime.of(17, 0),
+                new PickupPoint("Markt", "1", "9000", "Gent"),
+                new Contact("An Claes", "0470000000", "an@example.com"),
+                "owner@example.com"));
+        RentalDTO expected = new RentalMapper(new CarMapper()).toDTO(rental);
+
+        assertThat(rentalRepository.findDTOsByCity("Gent"))
+                .singleElement()
+                .usingRecursiveComparison()
+                .isEqualTo(expected);
+        assertThat(rentalRepository.findAllDTOs()).hasSize(1);
+        assertThat(rentalRepository.findDTOsByCarId(car.getId())).hasSize(1);
+        assertThat(rentalRepository.findDTOsByOwnerEmail("owner@example.com")).hasSize(1);
+        assertThat(rentalRepository.findDTOsByStartDate(LocalDate.of(2025, 3, 1))).hasSize(1);
+        assertThat(rentalRepository.findDTOsByCity("Leuven")).isEmpty();
+    }
 }
@@ -0,0 +1,189 @@
+package be.ucll.se.demo.dataJpaTest;
+
+import be.ucll.se.demo.dto.PageDTO;
+import be.ucll.se.demo.dto.UserDTO;
+import be.ucll.se.demo.model.Role;
+import be.ucll.se.demo.model.RoleName;
+import be.ucll.se.demo.model.User;
+import be.ucll.se.demo.repository.RoleRepository;
+import be.ucll.se.demo.repository.UserRepository;
+import be.ucll.se.demo.service.TokenVersionCache;
+import be.ucll.se.demo.service.UserRoleCache;
+import be.ucll.se.demo.service.UserService;
+import be.ucll.se.demo.util.PasswordHasher;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ UserService.class, PasswordHasher.class, TokenVersionCache.class, UserRoleCache.class })
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Map<RoleName, Role> roles;
+    private int userCount;
+
+    @BeforeEach
+    void setUp() {
+        roles = Map.of(
+                RoleName.OWNER, roleRepository.save(new Role(RoleName.OWNER)),
+                RoleName.RENTER, roleRepository.save(new Role(RoleName.RENTER)));
+    }
+
+    @Test
+    void testGetUsersPage_ShouldUseSameNumberOfStatementsRegardlessOfUserCount() {
+        addUsers(5);
+        long smallTable = statementsFor(() -> userService.getUsersPage(0, 4, null));
+
+        addUsers(40);
+        long largeTable = statementsFor(() -> userService.getUsersPage(3, 4, null));
+        long filtered = statementsFor(() -> userService.getUsersPage(1, 4, RoleName.OWNER));
+
+        // Pagina id's + count + gebruikers met rollen (volle pagina's, dus altijd een count)
+        assertThat(smallTable).isEqualTo(3);
+        assertThat(largeTable).isEqualTo(smallTable);
+        assertThat(filtered).isEqualTo(smallTable);
+    }
+
+    @Test
+    void testGetUsersPage_ShouldReturnUsersWithAllTheirRoles() {
+        addUsers(25);
+        entityManager.clear();
+
+        PageDTO<UserDTO> page = userService.getUsersPage(2, 10, null);
+
+        assertThat(page.getItems()).hasSize(5);
+        assertThat(page.getTotalElements()).isEqualTo(25);
+        assertThat(page.getItems()).extracting(UserDTO::getUsername).isSorted();
+        assertThat(page.getItems()).allSatisfy(user -> assertThat(user.getRoles()).contains(RoleName.RENTER));
+    }
+
+    @Test
+    void testGetAllUsers_ShouldFetchRolesInSingleStatement() {
+        addUsers(30);
+
+        long statements = statementsFor(() -> userService.getAllUsers());
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void testGetUsersByRole_ShouldFetchRolesInSingleStatement() {
+        addUsers(30);
+
+        long statements = statementsFor(() -> {
+            List<UserDTO> owners = userService.getUsersByRole(RoleName.OWNER);
+            assertThat(owners).isNotEmpty()
+                    .allSatisfy(user -> assertThat(user.getRoles()).contains(RoleName.OWNER, RoleName.RENTER));
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void testExistsEnabledUserWithRole() {
+        addUsers(3);
+
+        assertThat(userRepository.existsEnabledUserWithRole(RoleName.OWNER)).isTrue();
+        assertThat(userRepository.existsEnabledUserWithRole(RoleName.ADMIN)).isFalse();
+    }
+
+    @Test
+    void testFindByEmailOrUsername_ShouldMatchEitherColumnInSingleStatement() {
+        addUsers(10);
+
+        long statements = statementsFor(() -> {
+            assertThat(userRepository.findByEmailOrUsername("user004@example.com"))
+                    .extracting(User::getUsername).containsExactly("user004");
+            assertThat(userRepository.findByEmailOrUsername("user007"))
+                    .extracting(User::getEmail).containsExactly("user007@example.com");
+            assertThat(userRepository.findByEmailOrUsername("unknown")).isEmpty();
+        });
+
+        assertThat(statements).isEqualTo(3);
+    }
+
+    @Test
+    void testFindByEmailOrUsername_ShouldFetchRoles() {
+        addUsers(1);
+        entityManager.clear();
+
+        User user = userRepository.findByEmailOrUsername("user000").get(0);
+
+        assertThat(entityManagerFactory.getPersistenceUnitUtil().isLoaded(user, "roles")).isTrue();
+        assertThat(user.getRoles()).extracting(Role::getName).contains(RoleName.OWNER, RoleName.RENTER);
+    }
+
+    @Test
+    void testExistsByUsernameOrEmail() {
+        addUsers(2);
+
+        assertThat(userRepository.existsByUsernameOrEmail("user001", "new@example.com")).isTrue();
+        assertThat(userRepository.existsByUsernameOrEmail("newuser", "user000@example.com")).isTrue();
+        assertThat(userRepository.existsByUsernameOrEmail("newuser", "new@example.com")).isFalse();
+    }
+
+    @Test
+    void testUpdatePasswordHash_ShouldOnlyReplaceUnchangedHash() {
+        addUsers(1);
+        String userId = userRepository.findByUsername("user000").orElseThrow().getUserId();
+
+        assertThat(userRepository.updatePasswordHash(userId, "stale", "other")).isZero();
+        assertThat(userRepository.updatePasswordHash(userId, "hash", "rehashed")).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(userRepository.findById(userId)).get().extracting(User::getPassword).isEqualTo("rehashed");
+    }
+
+    // ===== HELPER METHODS =====
+    private void addUsers(int count) {
+        for (int i = 0; i < count; i++) {
+            int number = userCount++;
+            User user = new User();
+            user.setUsername(String.format("user%03d", number));
+            user.setEmail(String.format("user%03d@example.com", number));
+            user.setPassword("hash");
+            user.addRole(roles.get(RoleName.RENTER));
+            // Elke derde gebruiker is ook eigenaar
+            if (number % 3 == 0) {
+                user.addRole(roles.get(RoleName.OWNER));
+            }
+            entityManager.persist(user);
+        }
+        entityManager.flush();
+    }
+
+    // Aantal SQL statements, gemeten met een lege persistence context
+    private long statementsFor(Runnable action) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
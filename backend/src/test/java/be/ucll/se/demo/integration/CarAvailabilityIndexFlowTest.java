@@ -0,0 +1,134 @@
+package be.ucll.se.demo.integration;
+
+import be.ucll.se.demo.model.Car;
+import be.ucll.se.demo.model.CarType;
+import be.ucll.se.demo.model.Rent;
+import be.ucll.se.demo.model.RenterInfo;
+import be.ucll.se.demo.repository.CarRepository;
+import be.ucll.se.demo.repository.NotificationRepository;
+import be.ucll.se.demo.repository.RentRepository;
+import be.ucll.se.demo.service.CarAvailabilityIndex;
+import be.ucll.se.demo.service.CarCatalogCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Boekingen die niet via RentService geschreven worden, mogen de index niet laten verouderen
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+class CarAvailabilityIndexFlowTest {
+
+    private static final LocalDate BASE = LocalDate.of(2032, 3, 1);
+
+    @MockBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private CarAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private RentRepository rentRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private CarCatalogCache carCatalogCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Car car;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        rentRepository.deleteAll();
+        carRepository.deleteAll();
+        carCatalogCache.invalidateAll();
+        availabilityIndex.rebuild();
+
+        car = new Car("Skoda", "Octavia", "IDX-001", "owner@example.com");
+        car.setType(CarType.SEDAN);
+        car.setNumberOfSeats(5);
+        car.setAvailableForRent(true);
+        car = carRepository.save(car);
+    }
+
+    @Test
+    void repositorySave_ShouldBeVisibleInIndex() {
+        rentRepository.save(rent(BASE, BASE.plusDays(3)));
+
+        assertThat(availabilityIndex.isAvailable(car.getId(), BASE.plusDays(2), BASE.plusDays(5))).isFalse();
+        assertThat(availabilityIndex.isAvailable(car.getId(), BASE.plusDays(4), BASE.plusDays(5))).isTrue();
+    }
+
+    @Test
+    void repositoryDeleteAll_ShouldFreePeriodsInIndex() {
+        rentRepository.save(rent(BASE, BASE.plusDays(3)));
+
+        rentRepository.deleteAll();
+
+        assertThat(availabilityIndex.isAvailable(car.getId(), BASE, BASE.plusDays(3))).isTrue();
+    }
+
+    @Test
+    void repositoryUpdate_WhenCarChanges_ShouldMovePeriodToNewCar() {
+        Car otherCar = new Car("Skoda", "Fabia", "IDX-002", "owner@example.com");
+        otherCar.setType(CarType.HATCHBACK);
+        otherCar.setNumberOfSeats(5);
+        otherCar.setAvailableForRent(true);
+        otherCar = carRepository.save(otherCar);
+        Rent rent = rentRepository.save(rent(BASE, BASE.plusDays(3)));
+
+        rent.setCar(otherCar);
+        rentRepository.save(rent);
+
+        assertThat(availabilityIndex.isAvailable(car.getId(), BASE, BASE.plusDays(3))).isTrue();
+        assertThat(availabilityIndex.isAvailable(otherCar.getId(), BASE, BASE.plusDays(3))).isFalse();
+    }
+
+    @Test
+    void repositoryUpdate_WhenPeriodShrinks_ShouldFreeDroppedDays() {
+        Rent rent = rentRepository.save(rent(BASE, BASE.plusDays(5)));
+
+        rent.setEndDate(BASE.plusDays(2));
+        rentRepository.save(rent);
+
+        assertThat(availabilityIndex.isAvailable(car.getId(), BASE.plusDays(3), BASE.plusDays(5))).isTrue();
+        assertThat(availabilityIndex.isAvailable(car.getId(), BASE.plusDays(1), BASE.plusDays(2))).isFalse();
+    }
+
+    @Test
+    void jdbcInsert_ShouldOnlyBeVisibleAfterRebuild() {
+        jdbcTemplate.update("INSERT INTO rent (car_id, start_date, end_date, owner_email, renter_email) "
+                + "VALUES (?, ?, ?, ?, ?)", car.getId(), Date.valueOf(BASE), Date.valueOf(BASE.plusDays(3)),
+                "owner@example.com", "renter@example.com");
+
+        // Writes buiten JPA ziet de index niet tot iemand rebuild() aanroept
+        assertThat(availabilityIndex.isAvailable(car.getId(), BASE, BASE.plusDays(1))).isTrue();
+
+        availabilityIndex.rebuild();
+
+        assertThat(availabilityIndex.isAvailable(car.getId(), BASE, BASE.plusDays(1))).isFalse();
+    }
+
+    private Rent rent(LocalDate startDate, LocalDate endDate) {
+        RenterInfo renterInfo = new RenterInfo("0123456789", "90.01.01-123.45",
+                LocalDate.of(1990, 1, 1), "1234567890");
+        return new Rent(car, startDate, endDate, "owner@example.com", "renter@example.com", renterInfo);
+    }
+}
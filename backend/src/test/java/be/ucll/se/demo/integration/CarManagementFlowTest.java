@@ -6,6 +6,7 @@ import be.ucll.se.demo.model.CarType;
 import be.ucll.se.demo.repository.CarRepository;
 import be.ucll.se.demo.repository.RentRepository;
 import be.ucll.se.demo.repository.UserRepository;
+import be.ucll.se.demo.service.CarCatalogCache;
 import be.ucll.se.demo.repository.NotificationRepository; // ← TOEGEVOEGD
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -40,6 +41,9 @@ public class CarManagementFlowTest {
     @Autowired
     private CarRepository carRepository;
 
+    @Autowired
+    private CarCatalogCache carCatalogCache;
+
     @Autowired
     private RentRepository rentRepository;
 
@@ -66,6 +70,7 @@ public class CarManagementFlowTest {
             notificationRepository.deleteAll(); // ← NIEUW: notifications eerst
             rentRepository.deleteAll(); // Then rents
             carRepository.deleteAll(); // Then cars
+            carCatalogCache.invalidateAll(); // cache kent de verwijderde auto's nog
             userRepository.deleteAll(); // Users last
 
             notificationRepository.flush();
@@ -8,6 +8,7 @@ import be.ucll.se.demo.model.CarType;
 import be.ucll.se.demo.repository.CarRepository;
 import be.ucll.se.demo.repository.RentRepository;
 import be.ucll.se.demo.repository.UserRepository;
+import be.ucll.se.demo.service.CarCatalogCache;
 import be.ucll.se.demo.repository.NotificationRepository; // ← TOEGEVOEGD
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -47,6 +48,9 @@ public class CarRentalFlowTest {
     @Autowired
     private CarRepository carRepository;
 
+    @Autowired
+    private CarCatalogCache carCatalogCache;
+
     @Autowired
     private RentRepository rentRepository;
 
@@ -71,6 +75,7 @@ public class CarRentalFlowTest {
             notificationRepository.deleteAll(); // ← NIEUW: notifications eerst
             rentRepository.deleteAll(); // Then rents
             carRepository.deleteAll(); // Then cars
+            carCatalogCache.invalidateAll(); // cache kent de verwijderde auto's nog
             userRepository.deleteAll(); // Users last
 
             notificationRepository.flush();
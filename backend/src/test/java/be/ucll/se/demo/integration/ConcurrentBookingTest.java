@@ -0,0 +1,159 @@
+package be.ucll.se.demo.integration;
+
+import be.ucll.se.demo.model.Car;
+import be.ucll.se.demo.model.CarType;
+import be.ucll.se.demo.model.Rent;
+import be.ucll.se.demo.model.RenterInfo;
+import be.ucll.se.demo.repository.CarRepository;
+import be.ucll.se.demo.repository.NotificationRepository;
+import be.ucll.se.demo.repository.RentRepository;
+import be.ucll.se.demo.service.CarCatalogCache;
+import be.ucll.se.demo.service.RentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:bookingdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000"
+})
+class ConcurrentBookingTest {
+
+    private static final int THREADS = 16;
+    private static final LocalDate BASE = LocalDate.of(2031, 1, 1);
+
+    @MockBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private RentService rentService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private CarCatalogCache carCatalogCache;
+
+    @Autowired
+    private RentRepository rentRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private Car car;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        rentRepository.deleteAll();
+        carRepository.deleteAll();
+        carCatalogCache.invalidateAll(); // cache kent de verwijderde auto's nog
+
+        car = new Car("Toyota", "Yaris", "HOT-001", "owner@example.com");
+        car.setType(CarType.HATCHBACK);
+        car.setNumberOfSeats(5);
+        car.setAvailableForRent(true);
+        car = carRepository.save(car);
+    }
+
+    @Test
+    void addRent_WhenManyThreadsBookOverlappingPeriods_ShouldNeverDoubleBook() throws Exception {
+        // 400 pogingen op 40 dagen met periodes van 1 tot 4 dagen: veel conflicten
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        List<LocalDate> singleDays = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            LocalDate start = BASE.plusDays((i * 7L) % 40);
+            LocalDate end = start.plusDays(i % 4);
+            if (start.equals(end)) {
+                singleDays.add(start);
+            }
+            attempts.add(() -> tryBook(start, end));
+        }
+
+        int booked = runConcurrently(attempts);
+
+        List<Rent> rents = rentRepository.findByCar(car);
+        assertThat(rents).hasSize(booked).isNotEmpty();
+        assertNoOverlap(rents);
+        // Een eendaagse poging wordt enkel geweigerd als de dag al bezet is: elke
+        // weigering moet dus een echte overlap zijn, geen lock timeout
+        for (LocalDate day : singleDays) {
+            assertThat(rents)
+                    .as("day %s was attempted but is not booked", day)
+                    .anyMatch(rent -> !rent.getStartDate().isAfter(day) && !rent.getEndDate().isBefore(day));
+        }
+    }
+
+    @Test
+    void addRent_WhenManyThreadsBookDisjointPeriods_ShouldAcceptAll() throws Exception {
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            LocalDate day = BASE.plusDays(i);
+            attempts.add(() -> tryBook(day, day));
+        }
+
+        long started = System.nanoTime();
+        int booked = runConcurrently(attempts);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        System.out.printf("📊 %d bookings for one car on %d threads in %.2fs (%.0f/s)%n",
+                booked, THREADS, seconds, booked / seconds);
+        assertThat(booked).isEqualTo(200);
+        assertNoOverlap(rentRepository.findByCar(car));
+    }
+
+    // ===== HELPER METHODS =====
+    private boolean tryBook(LocalDate start, LocalDate end) {
+        RenterInfo renterInfo = new RenterInfo("0123456789", "90.01.01-123.45",
+                LocalDate.of(1990, 1, 1), "1234567890");
+        Rent rent = new Rent(car, start, end, "owner@example.com", "renter@example.com", renterInfo);
+        try {
+            rentService.addRent(rent);
+            return true;
+        } catch (IllegalArgumentException e) {
+            // Enkel een echte overlap mag een boeking weigeren; lock timeouts e.d. laten de test falen
+            assertThat(e).hasMessage("Car is already booked for this period.");
+            return false;
+        }
+    }
+
+    private int runConcurrently(List<Callable<Boolean>> attempts) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            int booked = 0;
+            for (Future<Boolean> result : executor.invokeAll(attempts)) {
+                if (result.get()) {
+                    booked++;
+                }
+            }
+            return booked;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertNoOverlap(List<Rent> rents) {
+        List<Rent> sorted = new ArrayList<>(rents);
+        sorted.sort(Comparator.comparing(Rent::getStartDate));
+        for (int i = 1; i < sorted.size(); i++) {
+            assertThat(sorted.get(i).getStartDate())
+                    .as("rent %d overlaps rent %d", sorted.get(i).getId(), sorted.get(i - 1).getId())
+                    .isAfter(sorted.get(i - 1).getEndDate());
+        }
+    }
+}
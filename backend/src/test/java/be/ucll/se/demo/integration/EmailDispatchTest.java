@@ -0,0 +1,86 @@
+package be.ucll.se.demo.integration;
+
+import be.ucll.se.demo.model.Notification;
+import be.ucll.se.demo.model.NotificationType;
+import be.ucll.se.demo.service.EmailService;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailDispatchTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private EmailService emailService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        meterRegistry = new SimpleMeterRegistry();
+        emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "mailSender", mailSender);
+        ReflectionTestUtils.setField(emailService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@car4rent.be");
+        ReflectionTestUtils.setField(emailService, "emailEnabled", true);
+        ReflectionTestUtils.setField(emailService, "maxConcurrency", 4);
+        ReflectionTestUtils.setField(emailService, "batchSize", 20);
+        ReflectionTestUtils.invokeMethod(emailService, "initConnectionPermits");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(emailService, "shutdownMailExecutor");
+    }
+
+    @Test
+    void sendNotificationEmails_ShouldDeliverReminderWave() {
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            notifications.add(new Notification("renter" + i + "@example.com", NotificationType.RENTAL_REMINDER,
+                    "Herinnering: Auto ophalen morgen", "Vergeet je rijbewijs niet.", (long) i, "RENT"));
+        }
+
+        long started = System.nanoTime();
+        Map<Notification, Exception> failures = emailService.sendNotificationEmails(notifications);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        System.out.printf("📊 %d emails in %.2fs (%.0f/s)%n",
+                notifications.size(), seconds, notifications.size() / seconds);
+        assertThat(failures).isEmpty();
+        assertThat(greenMail.getReceivedMessages()).hasSize(500);
+        // 500 berichten in batches van 20
+        assertThat(meterRegistry.get("mail.send").tags("mode", "batch", "outcome", "success").timer().count())
+                .isEqualTo(25);
+        assertThat(meterRegistry.get("mail.messages").tag("outcome", "success").counter().count())
+                .isEqualTo(500);
+    }
+
+    @Test
+    void sendNotificationEmails_WhenEmailDisabled_ShouldSendNothing() {
+        ReflectionTestUtils.setField(emailService, "emailEnabled", false);
+
+        Map<Notification, Exception> failures = emailService.sendNotificationEmails(List.of(
+                new Notification("renter@example.com", NotificationType.RENTAL_REMINDER, "Titel", "Bericht", 1L,
+                        "RENT")));
+
+        assertThat(failures).isEmpty();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+}
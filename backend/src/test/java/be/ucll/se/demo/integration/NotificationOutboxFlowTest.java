@@ -0,0 +1,62 @@
+package be.ucll.se.demo.integration;
+
+import be.ucll.se.demo.model.Notification;
+import be.ucll.se.demo.model.NotificationStatus;
+import be.ucll.se.demo.model.NotificationType;
+import be.ucll.se.demo.repository.NotificationRepository;
+import be.ucll.se.demo.service.EmailService;
+import be.ucll.se.demo.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-integration.properties")
+class NotificationOutboxFlowTest {
+
+    @MockBean
+    private EmailService emailService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+    }
+
+    // ===== OUTBOX TESTS =====
+    @Test
+    void dispatch_WhenNotificationReadBeforeDelivery_ShouldStillSendEmail() {
+        Notification created = notificationService.createAndSendNotification("renter@example.com",
+                NotificationType.BOOKING_CONFIRMATION, "Boeking bevestigd!", "Tot binnenkort", 1L, "RENT");
+        notificationService.markAsRead(created.getId());
+        when(emailService.sendNotificationEmails(anyList())).thenReturn(Map.of());
+
+        int dispatched = notificationService.dispatchDueNotifications(50);
+
+        assertThat(dispatched).isEqualTo(1);
+        verify(emailService).sendNotificationEmails(argThat((List<Notification> due) ->
+                due.size() == 1 && due.get(0).getId().equals(created.getId())));
+        Notification delivered = notificationRepository.findById(created.getId()).orElseThrow();
+        assertThat(delivered.getSentAt()).isNotNull();
+        assertThat(delivered.getReadAt()).isNotNull();
+        assertThat(delivered.getStatus()).isEqualTo(NotificationStatus.READ);
+        assertThat(notificationService.dispatchDueNotifications(50)).isZero();
+    }
+}
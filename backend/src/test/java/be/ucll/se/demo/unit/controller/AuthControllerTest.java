@@ -4,9 +4,13 @@ import be.ucll.se.demo.controller.AuthController;
 import be.ucll.se.demo.dto.LoginResponseDTO;
 import be.ucll.se.demo.model.RoleName;
 import be.ucll.se.demo.model.User;
+import be.ucll.se.demo.security.JwtAuthenticationFilter;
+import be.ucll.se.demo.security.LoginRateLimiter;
 import be.ucll.se.demo.service.UserService;
 import be.ucll.se.demo.util.JwtUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -14,6 +18,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
@@ -23,12 +28,16 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -36,6 +45,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AuthController.class)
+@Import(JwtAuthenticationFilter.class)
 class AuthControllerTest {
 
     @Autowired
@@ -47,6 +57,9 @@ class AuthControllerTest {
     @MockBean
     private JwtUtil jwtUtil;
 
+    @MockBean
+    private LoginRateLimiter loginRateLimiter;
+
     @InjectMocks
     private AuthController authController;
 
@@ -122,6 +135,10 @@ class AuthControllerTest {
         }
     }
 
+    private Claims claimsFor(String email) {
+        return Jwts.claims().setSubject(email);
+    }
+
     private boolean hasMethod(Object obj, String methodName) {
         try {
             obj.getClass().getMethod(methodName, String.class);
@@ -248,7 +265,8 @@ class AuthControllerTest {
         loginRequest.put("password", "password123");
 
         when(userService.loginWithRoles("testuser", "password123")).thenReturn(testLoginResponse);
-        when(jwtUtil.generateToken("test@example.com")).thenReturn("mocked-jwt-token");
+        when(jwtUtil.generateToken(eq("test@example.com"), anySet(), eq(true), anyInt()))
+                .thenReturn("mocked-jwt-token");
 
         String jsonContent = objectMapper.writeValueAsString(loginRequest);
 
@@ -265,7 +283,7 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.roles", hasItem("RENTER")));
 
         verify(userService).loginWithRoles("testuser", "password123");
-        verify(jwtUtil).generateToken("test@example.com");
+        verify(jwtUtil).generateToken("test@example.com", Set.of(RoleName.RENTER), true, 0);
     }
 
     @Test
@@ -288,7 +306,29 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.error", is("Invalid credentials or account disabled")));
 
         verify(userService).loginWithRoles("wronguser", "wrongpassword");
-        verify(jwtUtil, never()).generateToken(anyString());
+        verify(jwtUtil, never()).generateToken(anyString(), anySet(), anyBoolean(), anyInt());
+    }
+
+    @Test
+    void login_ShouldReturnTooManyRequests_WhenRateLimited() throws Exception {
+        // Given
+        Map<String, String> loginRequest = new HashMap<>();
+        loginRequest.put("username", "testuser");
+        loginRequest.put("password", "password123");
+
+        when(loginRateLimiter.tryAcquire(anyString(), eq("testuser"))).thenReturn(12L);
+
+        String jsonContent = objectMapper.writeValueAsString(loginRequest);
+
+        // When & Then
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonContent))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "12"))
+                .andExpect(jsonPath("$.error", is("Too many login attempts, please retry later")));
+
+        verifyNoInteractions(userService);
     }
 
     @Test
@@ -297,9 +337,8 @@ class AuthControllerTest {
         String validToken = "valid-jwt-token";
         String bearerToken = "Bearer " + validToken;
 
-        when(jwtUtil.validateToken(validToken)).thenReturn(true);
-        when(jwtUtil.getUsernameFromToken(validToken)).thenReturn("test@example.com");
-        when(userService.getUserRoles("test@example.com")).thenReturn(Set.of(RoleName.RENTER));
+        when(jwtUtil.parse(validToken)).thenReturn(Optional.of(claimsFor("test@example.com")));
+        when(userService.getRolesFromToken(any(Claims.class))).thenReturn(Optional.of(Set.of(RoleName.RENTER)));
 
         // When & Then
         mockMvc.perform(post("/auth/validate")
@@ -311,9 +350,9 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.user.roles", hasItem("RENTER")))
                 .andExpect(jsonPath("$.user.isAdmin", is(false)));
 
-        verify(jwtUtil).validateToken(validToken);
-        verify(jwtUtil).getUsernameFromToken(validToken);
-        verify(userService).getUserRoles("test@example.com");
+        verify(jwtUtil, times(1)).parse(validToken);
+        verify(userService).getRolesFromToken(any(Claims.class));
+        verify(userService, never()).getUserRoles(anyString());
     }
 
     @Test
@@ -322,9 +361,8 @@ class AuthControllerTest {
         String validToken = "valid-jwt-token";
         String bearerToken = "Bearer " + validToken;
 
-        when(jwtUtil.validateToken(validToken)).thenReturn(true);
-        when(jwtUtil.getUsernameFromToken(validToken)).thenReturn("admin@example.com");
-        when(userService.getUserRoles("admin@example.com")).thenReturn(Set.of(RoleName.ADMIN));
+        when(jwtUtil.parse(validToken)).thenReturn(Optional.of(claimsFor("admin@example.com")));
+        when(userService.getRolesFromToken(any(Claims.class))).thenReturn(Optional.of(Set.of(RoleName.ADMIN)));
 
         // When & Then
         mockMvc.perform(post("/auth/validate")
@@ -342,9 +380,8 @@ class AuthControllerTest {
         String validToken = "valid-jwt-token";
         String bearerToken = "Bearer " + validToken;
 
-        when(jwtUtil.validateToken(validToken)).thenReturn(true);
-        when(jwtUtil.getUsernameFromToken(validToken)).thenReturn("test@example.com");
-        when(userService.userHasRole("test@example.com", RoleName.RENTER)).thenReturn(true);
+        when(jwtUtil.parse(validToken)).thenReturn(Optional.of(claimsFor("test@example.com")));
+        when(userService.getRolesFromToken(any(Claims.class))).thenReturn(Optional.of(Set.of(RoleName.RENTER)));
 
         // When & Then
         mockMvc.perform(get("/auth/check-role/renter")
@@ -352,7 +389,8 @@ class AuthControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.hasRole", is(true)));
 
-        verify(userService).userHasRole("test@example.com", RoleName.RENTER);
+        // Rollen komen uit de token-claims, niet uit de DB
+        verify(userService, never()).userHasRole(anyString(), any(RoleName.class));
     }
 
     @Test
@@ -361,9 +399,8 @@ class AuthControllerTest {
         String validToken = "valid-jwt-token";
         String bearerToken = "Bearer " + validToken;
 
-        when(jwtUtil.validateToken(validToken)).thenReturn(true);
-        when(jwtUtil.getUsernameFromToken(validToken)).thenReturn("test@example.com");
-        when(userService.userHasRole("test@example.com", RoleName.ADMIN)).thenReturn(false);
+        when(jwtUtil.parse(validToken)).thenReturn(Optional.of(claimsFor("test@example.com")));
+        when(userService.getRolesFromToken(any(Claims.class))).thenReturn(Optional.of(Set.of(RoleName.RENTER)));
 
         // When & Then
         mockMvc.perform(get("/auth/check-role/admin")
@@ -371,7 +408,7 @@ class AuthControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.hasRole", is(false)));
 
-        verify(userService).userHasRole("test@example.com", RoleName.ADMIN);
+        verify(userService, never()).userHasRole(anyString(), any(RoleName.class));
     }
 
     @Test
@@ -390,8 +427,8 @@ class AuthControllerTest {
         String validToken = "valid-jwt-token";
         String bearerToken = "Bearer " + validToken;
 
-        when(jwtUtil.validateToken(validToken)).thenReturn(true);
-        when(jwtUtil.getUsernameFromToken(validToken)).thenReturn("test@example.com");
+        when(jwtUtil.parse(validToken)).thenReturn(Optional.of(claimsFor("test@example.com")));
+        when(userService.getRolesFromToken(any(Claims.class))).thenReturn(Optional.of(Set.of(RoleName.RENTER)));
 
         // When & Then
         mockMvc.perform(get("/auth/check-role/invalid-role")
@@ -407,7 +444,7 @@ class AuthControllerTest {
         String invalidToken = "invalid-jwt-token";
         String bearerToken = "Bearer " + invalidToken;
 
-        when(jwtUtil.validateToken(invalidToken)).thenReturn(false);
+        when(jwtUtil.parse(invalidToken)).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(post("/auth/validate")
@@ -416,8 +453,22 @@ class AuthControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.valid", is(false)));
 
-        verify(jwtUtil).validateToken(invalidToken);
-        verify(jwtUtil, never()).getUsernameFromToken(anyString());
+        verify(jwtUtil).parse(invalidToken);
+    }
+
+    @Test
+    void validateToken_ShouldReturnUnauthorized_WhenTokenRevoked() throws Exception {
+        // Given
+        String revokedToken = "revoked-jwt-token";
+
+        when(jwtUtil.parse(revokedToken)).thenReturn(Optional.of(claimsFor("test@example.com")));
+        when(userService.getRolesFromToken(any(Claims.class))).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(post("/auth/validate")
+                .header("Authorization", "Bearer " + revokedToken))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.valid", is(false)));
     }
 
     @Test
@@ -426,8 +477,7 @@ class AuthControllerTest {
         mockMvc.perform(post("/auth/validate"))
                 .andExpect(status().isInternalServerError());
 
-        verify(jwtUtil, never()).validateToken(anyString());
-        verify(jwtUtil, never()).getUsernameFromToken(anyString());
+        verify(jwtUtil, never()).parse(anyString());
     }
 
     @Test
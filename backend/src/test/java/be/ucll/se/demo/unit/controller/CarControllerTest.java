@@ -3,6 +3,7 @@ package be.ucll.se.demo.unit.controller;
 import be.ucll.se.demo.controller.CarController;
 import be.ucll.se.demo.dto.CarCreateDTO;
 import be.ucll.se.demo.dto.CarDTO;
+import be.ucll.se.demo.dto.PageDTO;
 import be.ucll.se.demo.model.CarType;
 import be.ucll.se.demo.service.CarService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,14 +15,18 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -83,6 +88,63 @@ class CarControllerTest {
         verify(carService).getAllCarsDTO();
     }
 
+    @Test
+    void getAllCars_WithFilters_ShouldReturnPage() throws Exception {
+        // Given
+        PageDTO<CarDTO> page = new PageDTO<>(List.of(testCarDTO), 0, 10, 1, 1, false);
+        when(carService.searchCars(0, 10, "brand,desc", "SEDAN", 4, true, null, null)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/cars")
+                .param("size", "10")
+                .param("sort", "brand,desc")
+                .param("type", "SEDAN")
+                .param("minSeats", "4")
+                .param("towBar", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].licensePlate", is("ABC-123")))
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+
+        verify(carService, never()).getAllCarsDTO();
+    }
+
+    @Test
+    void getAllCars_WithCursor_ShouldReturnNextPage() throws Exception {
+        // Given
+        PageDTO<CarDTO> page = new PageDTO<>(List.of(testCarDTO), PageDTO.UNKNOWN_PAGE, 20,
+                PageDTO.UNKNOWN_TOTAL, PageDTO.UNKNOWN_TOTAL, true);
+        page.setNextCursor("1");
+        when(carService.searchCars(0, 20, null, null, null, null, null, 41L)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/cars").param("after", "41"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", is("1")));
+
+        verify(carService, never()).getAllCarsDTO();
+    }
+
+    @Test
+    void getAllCars_WhenPageSizeTooLarge_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/cars").param("size", "500"))
+                .andExpect(status().isBadRequest());
+
+        verify(carService, never()).searchCars(anyInt(), anyInt(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getAllCars_WhenInvalidSort_ShouldReturn400() throws Exception {
+        when(carService.searchCars(eq(0), eq(20), eq("password"), isNull(), isNull(), isNull(), isNull(), isNull()))
+                .thenThrow(new IllegalArgumentException("Invalid sort: password"));
+
+        mockMvc.perform(get("/cars").param("sort", "password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Invalid sort: password")));
+    }
+
     // ===== GET CAR BY ID TESTS =====
     @Test
     void getCarById_WhenCarExists_ShouldReturnCar() throws Exception {
@@ -263,6 +325,41 @@ class CarControllerTest {
         verify(carService).getAvailableCarsDTO();
     }
 
+    @Test
+    void getAvailableCars_WithPeriod_ShouldSearchInOnePass() throws Exception {
+        // Given
+        LocalDate from = LocalDate.of(2030, 5, 1);
+        LocalDate to = LocalDate.of(2030, 5, 7);
+        when(carService.getAvailableCarsForPeriodDTO(from, to, "sedan", 4))
+                .thenReturn(Arrays.asList(testCarDTO));
+
+        // When & Then
+        mockMvc.perform(get("/cars/available")
+                .param("from", "2030-05-01")
+                .param("to", "2030-05-07")
+                .param("type", "sedan")
+                .param("minSeats", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(carService).getAvailableCarsForPeriodDTO(from, to, "sedan", 4);
+        verify(carService, never()).getAvailableCarsDTO();
+    }
+
+    @Test
+    void getAvailableCars_WithInvalidPeriod_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(carService.getAvailableCarsForPeriodDTO(any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Start date must be before end date."));
+
+        // When & Then
+        mockMvc.perform(get("/cars/available")
+                .param("from", "2030-05-07")
+                .param("to", "2030-05-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Start date must be before end date."));
+    }
+
     // ===== GET CARS BY OWNER EMAIL TESTS =====
     @Test
     void getCarsByOwnerEmail_ShouldReturnOwnerCars() throws Exception {
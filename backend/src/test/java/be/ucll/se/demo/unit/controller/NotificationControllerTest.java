@@ -0,0 +1,56 @@
+package be.ucll.se.demo.unit.controller;
+
+import be.ucll.se.demo.controller.NotificationController;
+import be.ucll.se.demo.model.RoleName;
+import be.ucll.se.demo.security.AuthenticatedUser;
+import be.ucll.se.demo.service.NotificationService;
+import be.ucll.se.demo.service.NotificationStreamRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(NotificationController.class)
+class NotificationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private NotificationService notificationService;
+
+    @MockBean
+    private NotificationStreamRegistry streamRegistry;
+
+    @Test
+    void streamNotifications_WithoutPrincipal_ShouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/notifications/stream")
+                        .param("userEmail", "victim@example.com"))
+                .andExpect(status().isUnauthorized());
+
+        verify(streamRegistry, never()).subscribe(anyString());
+    }
+
+    @Test
+    void streamNotifications_WithPrincipal_ShouldIgnoreForeignEmailParameter() throws Exception {
+        when(streamRegistry.subscribe("owner@example.com")).thenReturn(new SseEmitter());
+        AuthenticatedUser principal = new AuthenticatedUser("owner@example.com", Set.of(RoleName.RENTER));
+
+        mockMvc.perform(get("/notifications/stream")
+                        .param("userEmail", "victim@example.com")
+                        .requestAttr(AuthenticatedUser.REQUEST_ATTRIBUTE, principal))
+                .andExpect(request().asyncStarted());
+
+        verify(streamRegistry).subscribe("owner@example.com");
+        verify(streamRegistry, never()).subscribe("victim@example.com");
+    }
+}
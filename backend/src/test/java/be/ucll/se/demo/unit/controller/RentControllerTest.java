@@ -1,8 +1,10 @@
 package be.ucll.se.demo.unit.controller;
 
 import be.ucll.se.demo.controller.RentController;
+import be.ucll.se.demo.dto.CarDTO;
 import be.ucll.se.demo.dto.RentCreateDTO;
 import be.ucll.se.demo.dto.RentDTO;
+import be.ucll.se.demo.mapper.RentMapper;
 import be.ucll.se.demo.model.Car;
 import be.ucll.se.demo.model.Rent;
 import be.ucll.se.demo.model.RenterInfo;
@@ -48,6 +50,8 @@ class RentControllerTest {
     private ObjectMapper objectMapper;
     private Car testCar;
     private Rent testRent;
+    private RentDTO testRentDTO;
+    private CarDTO testCarDTO;
     private RentCreateDTO testRentCreateDTO;
 
     @BeforeEach
@@ -74,6 +78,10 @@ class RentControllerTest {
                 "renter@example.com",
                 renterInfo);
         setField(testRent, "id", 1L);
+        testRentDTO = RentMapper.toDto(testRent);
+
+        testCarDTO = new CarDTO();
+        testCarDTO.setId(1L);
 
         // Setup test DTO
         testRentCreateDTO = new RentCreateDTO(
@@ -103,8 +111,8 @@ class RentControllerTest {
     @Test
     void getAllRents_ShouldReturnAllRents() throws Exception {
         // Given
-        List<Rent> rents = Arrays.asList(testRent);
-        when(rentService.getAllRents()).thenReturn(rents);
+        List<RentDTO> rents = Arrays.asList(testRentDTO);
+        when(rentService.getAllRentDTOs()).thenReturn(rents);
 
         // When & Then
         mockMvc.perform(get("/rents"))
@@ -114,13 +122,13 @@ class RentControllerTest {
                 .andExpect(jsonPath("$[0].renterEmail", is("renter@example.com")))
                 .andExpect(jsonPath("$[0].ownerEmail", is("owner@example.com")));
 
-        verify(rentService).getAllRents();
+        verify(rentService).getAllRentDTOs();
     }
 
     @Test
     void getAllRents_ShouldReturnEmptyList_WhenNoRents() throws Exception {
         // Given
-        when(rentService.getAllRents()).thenReturn(Collections.emptyList());
+        when(rentService.getAllRentDTOs()).thenReturn(Collections.emptyList());
 
         // When & Then
         mockMvc.perform(get("/rents"))
@@ -128,7 +136,7 @@ class RentControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(rentService).getAllRents();
+        verify(rentService).getAllRentDTOs();
     }
 
     // ===== GET RENT BY ID TESTS =====
@@ -268,9 +276,9 @@ class RentControllerTest {
     @Test
     void getRentsByCar_ShouldReturnRents_WhenCarExists() throws Exception {
         // Given
-        List<Rent> rents = Arrays.asList(testRent);
-        when(carService.getCarById(1L)).thenReturn(Optional.of(testCar));
-        when(rentService.getRentsByCar(testCar)).thenReturn(rents);
+        List<RentDTO> rents = Arrays.asList(testRentDTO);
+        when(carService.getCarByIdDTO(1L)).thenReturn(Optional.of(testCarDTO));
+        when(rentService.getRentDTOsByCarId(1L)).thenReturn(rents);
 
         // When & Then
         mockMvc.perform(get("/rents/by-car/1"))
@@ -279,31 +287,29 @@ class RentControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].renterEmail", is("renter@example.com")));
 
-        verify(carService).getCarById(1L);
-        verify(rentService).getRentsByCar(testCar);
+        verify(carService).getCarByIdDTO(1L);
+        verify(rentService).getRentDTOsByCarId(1L);
     }
 
     @Test
     void getRentsByCar_ShouldReturnNotFound_WhenCarDoesNotExist() throws Exception {
         // Given
-        when(carService.getCarById(999L)).thenReturn(Optional.empty());
+        when(carService.getCarByIdDTO(999L)).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(get("/rents/by-car/999"))
                 .andExpect(status().isNotFound());
 
-        verify(carService).getCarById(999L);
-        verify(rentService, never()).getRentsByCar(any(Car.class));
+        verify(carService).getCarByIdDTO(999L);
+        verify(rentService, never()).getRentDTOsByCarId(anyLong());
     }
 
     // ===== GET RENTS BY RENTER EMAIL TESTS =====
     @Test
     void getRentsByRenterEmail_ShouldReturnRents() throws Exception {
         // Given
-        List<Rent> rents = Arrays.asList(testRent);
-        List<Rent> allRents = Arrays.asList(testRent); // For debug logging
-        when(rentService.getRentsByRenterEmail("renter@example.com")).thenReturn(rents);
-        when(rentService.getAllRents()).thenReturn(allRents); // For debug logging
+        List<RentDTO> rents = Arrays.asList(testRentDTO);
+        when(rentService.getRentDTOsByRenterEmail("renter@example.com")).thenReturn(rents);
 
         // When & Then
         mockMvc.perform(get("/rents/renter/renter@example.com"))
@@ -312,31 +318,29 @@ class RentControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].renterEmail", is("renter@example.com")));
 
-        verify(rentService).getRentsByRenterEmail("renter@example.com");
-        verify(rentService).getAllRents(); // Called for debug logging
+        verify(rentService).getRentDTOsByRenterEmail("renter@example.com");
+        verify(rentService, never()).getAllRents();
     }
 
     @Test
     void getRentsByRenterEmail_ShouldReturnEmptyList_WhenNoRentsFound() throws Exception {
         // Given
-        when(rentService.getRentsByRenterEmail("nonexistent@example.com")).thenReturn(Collections.emptyList());
-        when(rentService.getAllRents()).thenReturn(Collections.emptyList()); // For debug logging
+        when(rentService.getRentDTOsByRenterEmail("nonexistent@example.com")).thenReturn(Collections.emptyList());
 
         // When & Then
         mockMvc.perform(get("/rents/renter/nonexistent@example.com"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(rentService).getRentsByRenterEmail("nonexistent@example.com");
-        verify(rentService).getAllRents(); // Called for debug logging
+        verify(rentService).getRentDTOsByRenterEmail("nonexistent@example.com");
     }
 
     // ===== GET RENTS BY NATIONAL REGISTER ID TESTS =====
     @Test
     void getRentsByNationalRegisterId_ShouldReturnRents() throws Exception {
         // Given
-        List<Rent> rents = Arrays.asList(testRent);
-        when(rentService.getRentsByNationalRegisterId("90.01.01-123.45")).thenReturn(rents);
+        List<RentDTO> rents = Arrays.asList(testRentDTO);
+        when(rentService.getRentDTOsByNationalRegisterId("90.01.01-123.45")).thenReturn(rents);
 
         // When & Then
         mockMvc.perform(get("/rents/by-register-id")
@@ -346,7 +350,7 @@ class RentControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].nationalRegisterId", is("90.01.01-123.45")));
 
-        verify(rentService).getRentsByNationalRegisterId("90.01.01-123.45");
+        verify(rentService).getRentDTOsByNationalRegisterId("90.01.01-123.45");
     }
 
     @Test
@@ -356,16 +360,16 @@ class RentControllerTest {
         mockMvc.perform(get("/rents/by-register-id"))
                 .andExpect(status().isInternalServerError());
 
-        verify(rentService, never()).getRentsByNationalRegisterId(anyString());
+        verify(rentService, never()).getRentDTOsByNationalRegisterId(anyString());
     }
 
     // ===== GET ACTIVE OR UPCOMING RENTS TESTS =====
     @Test
     void getActiveOrUpcomingRents_ShouldReturnRents_WhenCarExists() throws Exception {
         // Given
-        List<Rent> rents = Arrays.asList(testRent);
-        when(carService.getCarById(1L)).thenReturn(Optional.of(testCar));
-        when(rentService.getActiveOrUpcomingRentsForCar(testCar)).thenReturn(rents);
+        List<RentDTO> rents = Arrays.asList(testRentDTO);
+        when(carService.getCarByIdDTO(1L)).thenReturn(Optional.of(testCarDTO));
+        when(rentService.getActiveOrUpcomingRentDTOsForCar(1L)).thenReturn(rents);
 
         // When & Then
         mockMvc.perform(get("/rents/active-or-upcoming/1"))
@@ -374,21 +378,21 @@ class RentControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].renterEmail", is("renter@example.com")));
 
-        verify(carService).getCarById(1L);
-        verify(rentService).getActiveOrUpcomingRentsForCar(testCar);
+        verify(carService).getCarByIdDTO(1L);
+        verify(rentService).getActiveOrUpcomingRentDTOsForCar(1L);
     }
 
     @Test
     void getActiveOrUpcomingRents_ShouldReturnNotFound_WhenCarDoesNotExist() throws Exception {
         // Given
-        when(carService.getCarById(999L)).thenReturn(Optional.empty());
+        when(carService.getCarByIdDTO(999L)).thenReturn(Optional.empty());
 
         // When & Then
         mockMvc.perform(get("/rents/active-or-upcoming/999"))
                 .andExpect(status().isNotFound());
 
-        verify(carService).getCarById(999L);
-        verify(rentService, never()).getActiveOrUpcomingRentsForCar(any(Car.class));
+        verify(carService).getCarByIdDTO(999L);
+        verify(rentService, never()).getActiveOrUpcomingRentDTOsForCar(anyLong());
     }
 
     // ===== EDGE CASE AND ERROR HANDLING TESTS =====
@@ -412,15 +416,14 @@ class RentControllerTest {
     void getRentsByRenterEmail_ShouldHandleSpecialCharactersInEmail() throws Exception {
         // Given
         String emailWithPlus = "test+user@example.com";
-        when(rentService.getRentsByRenterEmail(emailWithPlus)).thenReturn(Collections.emptyList());
-        when(rentService.getAllRents()).thenReturn(Collections.emptyList());
+        when(rentService.getRentDTOsByRenterEmail(emailWithPlus)).thenReturn(Collections.emptyList());
 
         // When & Then
         mockMvc.perform(get("/rents/renter/" + emailWithPlus))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(rentService).getRentsByRenterEmail(emailWithPlus);
+        verify(rentService).getRentDTOsByRenterEmail(emailWithPlus);
     }
 
     @Test
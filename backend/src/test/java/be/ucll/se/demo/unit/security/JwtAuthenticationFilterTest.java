@@ -0,0 +1,84 @@
+package be.ucll.se.demo.unit.security;
+
+import be.ucll.se.demo.model.RoleName;
+import be.ucll.se.demo.security.AuthenticatedUser;
+import be.ucll.se.demo.security.JwtAuthenticationFilter;
+import be.ucll.se.demo.service.UserService;
+import be.ucll.se.demo.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private JwtAuthenticationFilter filter;
+
+    @Test
+    void doFilter_WhenTokenValid_ShouldSetPrincipal() throws Exception {
+        Claims claims = Jwts.claims().setSubject("admin@example.com");
+        when(jwtUtil.parse("valid-token")).thenReturn(Optional.of(claims));
+        when(userService.getRolesFromToken(claims)).thenReturn(Optional.of(Set.of(RoleName.ADMIN)));
+
+        MockHttpServletRequest request = requestWithToken("valid-token");
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        AuthenticatedUser principal = (AuthenticatedUser) request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE);
+        assertThat(principal.email()).isEqualTo("admin@example.com");
+        assertThat(principal.isAdmin()).isTrue();
+        assertThat(chain.getRequest()).isSameAs(request);
+        verify(userService, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void doFilter_WhenTokenRevoked_ShouldContinueWithoutPrincipal() throws Exception {
+        Claims claims = Jwts.claims().setSubject("renter@example.com");
+        when(jwtUtil.parse("revoked-token")).thenReturn(Optional.of(claims));
+        when(userService.getRolesFromToken(claims)).thenReturn(Optional.empty());
+
+        MockHttpServletRequest request = requestWithToken("revoked-token");
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE)).isNull();
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    @Test
+    void doFilter_WhenNoAuthorizationHeader_ShouldNotTouchJwt() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cars");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE)).isNull();
+        verifyNoInteractions(jwtUtil, userService);
+    }
+
+    // ===== HELPER METHODS =====
+    private MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/users");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,144 @@
+package be.ucll.se.demo.unit.security;
+
+import be.ucll.se.demo.security.LoginRateLimiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquire_WhenIpBucketEmpty_ShouldReturnRetryAfter() {
+        // 3 pogingen, daarna 1 token per 6 seconden
+        LoginRateLimiter limiter = new LoginRateLimiter(3, 10, 100, 100, 1000, clock::get);
+
+        assertThat(limiter.tryAcquire("10.0.0.1", "a")).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1", "b")).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1", "c")).isZero();
+
+        assertThat(limiter.tryAcquire("10.0.0.1", "d")).isEqualTo(6);
+        assertThat(limiter.tryAcquire("10.0.0.2", "d")).isZero();
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        LoginRateLimiter limiter = new LoginRateLimiter(1, 10, 100, 100, 1000, clock::get);
+        assertThat(limiter.tryAcquire("10.0.0.1", "user")).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1", "user")).isEqualTo(6);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        assertThat(limiter.tryAcquire("10.0.0.1", "user")).isEqualTo(3);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        assertThat(limiter.tryAcquire("10.0.0.1", "user")).isZero();
+    }
+
+    @Test
+    void tryAcquire_ShouldLimitUsernameAcrossIpsIgnoringCase() {
+        LoginRateLimiter limiter = new LoginRateLimiter(100, 100, 2, 1, 1000, clock::get);
+
+        assertThat(limiter.tryAcquire("10.0.0.1", "Victim")).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.2", "victim ")).isZero();
+
+        assertThat(limiter.tryAcquire("10.0.0.3", "VICTIM")).isEqualTo(60);
+        assertThat(limiter.tryAcquire("10.0.0.3", "someone-else")).isZero();
+    }
+
+    @Test
+    void tryAcquire_WithoutUsername_ShouldOnlyUseIpBucket() {
+        LoginRateLimiter limiter = new LoginRateLimiter(2, 10, 1, 1, 1000, clock::get);
+
+        assertThat(limiter.tryAcquire("10.0.0.1", null)).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1", " ")).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1", null)).isPositive();
+    }
+
+    @Test
+    void constructor_WhenRefillRateNotPositive_ShouldThrow() {
+        assertThatThrownBy(() -> new LoginRateLimiter(5, 0, 5, 5, 1000, clock::get))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ===== CONCURRENCY TESTS =====
+    @Test
+    void tryAcquire_UnderConcurrentLoad_ShouldNeverHandOutMoreThanCapacity() throws Exception {
+        int capacity = 1000;
+        int threads = 32;
+        int attemptsPerThread = 200;
+        LoginRateLimiter limiter = new LoginRateLimiter(capacity, 1, 100_000, 1, 1000, clock::get);
+
+        AtomicInteger allowed = new AtomicInteger();
+        runConcurrently(threads, thread -> {
+            for (int i = 0; i < attemptsPerThread; i++) {
+                if (limiter.tryAcquire("203.0.113.7", null) == 0) {
+                    allowed.incrementAndGet();
+                }
+            }
+        });
+
+        assertThat(allowed.get()).isEqualTo(capacity);
+    }
+
+    @Test
+    void tryAcquire_UnderConcurrentLoadOnDistinctKeys_ShouldAdmitEveryAttempt() throws Exception {
+        int threads = 32;
+        int keysPerThread = 500;
+        LoginRateLimiter limiter = new LoginRateLimiter(2, 1, 2, 1, 100_000, clock::get);
+
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(threads, thread -> {
+            for (int i = 0; i < keysPerThread; i++) {
+                String ip = "10." + thread + "." + (i / 256) + "." + (i % 256);
+                // Twee pogingen per sleutel passen precies in de bucket
+                for (int attempt = 0; attempt < 2; attempt++) {
+                    if (limiter.tryAcquire(ip, "user-" + thread + "-" + i) != 0) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        assertThat(rejected.get()).isZero();
+    }
+
+    // ===== HELPER METHODS =====
+    private interface Worker {
+        void run(int thread);
+    }
+
+    private void runConcurrently(int threads, Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    worker.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
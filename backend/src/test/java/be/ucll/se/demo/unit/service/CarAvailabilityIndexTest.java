@@ -0,0 +1,138 @@
+package be.ucll.se.demo.unit.service;
+
+import be.ucll.se.demo.model.Car;
+import be.ucll.se.demo.model.Rent;
+import be.ucll.se.demo.repository.CarRepository;
+import be.ucll.se.demo.repository.RentRepository;
+import be.ucll.se.demo.service.CarAvailabilityIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CarAvailabilityIndexTest {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+    @Mock
+    private RentRepository rentRepository;
+
+    @Mock
+    private CarRepository carRepository;
+
+    @InjectMocks
+    private CarAvailabilityIndex availabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(carRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+        when(rentRepository.findAllPeriods()).thenReturn(List.of(
+                period(10L, 1L, BASE, BASE.plusDays(100)),
+                period(11L, 1L, BASE.plusDays(2), BASE.plusDays(3))));
+
+        availabilityIndex.rebuild();
+    }
+
+    @Test
+    void rebuild_ShouldMarkIndexReady() {
+        assertThat(availabilityIndex.isReady()).isTrue();
+    }
+
+    @Test
+    void isAvailable_WhenPeriodInsideLongRent_ShouldReturnFalse() {
+        // Het laatste interval dat voor de periode start is kort, het lange eerdere moet ook tellen
+        assertThat(availabilityIndex.isAvailable(1L, BASE.plusDays(50), BASE.plusDays(60))).isFalse();
+    }
+
+    @Test
+    void isAvailable_WhenPeriodTouchesBoundary_ShouldReturnFalse() {
+        assertThat(availabilityIndex.isAvailable(1L, BASE.plusDays(100), BASE.plusDays(110))).isFalse();
+        assertThat(availabilityIndex.isAvailable(1L, BASE.minusDays(5), BASE)).isFalse();
+    }
+
+    @Test
+    void isAvailable_WhenPeriodOutsideAllRents_ShouldReturnTrue() {
+        assertThat(availabilityIndex.isAvailable(1L, BASE.plusDays(101), BASE.plusDays(110))).isTrue();
+        assertThat(availabilityIndex.isAvailable(2L, BASE, BASE.plusDays(10))).isTrue();
+        verify(carRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void isAvailable_WhenCarUnknown_ShouldCheckRepositoryOnce() {
+        when(carRepository.existsById(3L)).thenReturn(true);
+
+        assertThat(availabilityIndex.isAvailable(3L, BASE, BASE.plusDays(1))).isTrue();
+        assertThat(availabilityIndex.isAvailable(3L, BASE, BASE.plusDays(1))).isTrue();
+
+        verify(carRepository, times(1)).existsById(3L);
+    }
+
+    @Test
+    void isAvailable_WhenCarDoesNotExist_ShouldReturnFalse() {
+        when(carRepository.existsById(99L)).thenReturn(false);
+
+        assertThat(availabilityIndex.isAvailable(99L, BASE, BASE.plusDays(1))).isFalse();
+    }
+
+    @Test
+    void recordRent_And_removeRent_ShouldUpdateAvailability() {
+        Rent rent = rent(20L, 2L, BASE.plusDays(5), BASE.plusDays(7));
+
+        availabilityIndex.recordRent(rent);
+        assertThat(availabilityIndex.isAvailable(2L, BASE.plusDays(6), BASE.plusDays(6))).isFalse();
+
+        availabilityIndex.removeRent(rent);
+        assertThat(availabilityIndex.isAvailable(2L, BASE.plusDays(6), BASE.plusDays(6))).isTrue();
+    }
+
+    @Test
+    void evictCar_ShouldForgetCar() {
+        when(carRepository.existsById(1L)).thenReturn(false);
+
+        availabilityIndex.evictCar(1L);
+
+        assertThat(availabilityIndex.isAvailable(1L, BASE.plusDays(200), BASE.plusDays(201))).isFalse();
+    }
+
+    // ===== HELPER METHODS =====
+    private RentRepository.RentPeriod period(Long id, Long carId, LocalDate start, LocalDate end) {
+        return new RentRepository.RentPeriod() {
+            public Long getId() {
+                return id;
+            }
+
+            public Long getCarId() {
+                return carId;
+            }
+
+            public LocalDate getStartDate() {
+                return start;
+            }
+
+            public LocalDate getEndDate() {
+                return end;
+            }
+        };
+    }
+
+    private Rent rent(Long id, Long carId, LocalDate start, LocalDate end) {
+        Car car = new Car();
+        car.setId(carId);
+        Rent rent = new Rent();
+        rent.setId(id);
+        rent.setCar(car);
+        rent.setStartDate(start);
+        rent.setEndDate(end);
+        return rent;
+    }
+}
@@ -2,10 +2,13 @@ package be.ucll.se.demo.unit.service;
 
 import be.ucll.se.demo.dto.CarDTO;
 import be.ucll.se.demo.dto.CarCreateDTO;
+import be.ucll.se.demo.dto.PageDTO;
 import be.ucll.se.demo.mapper.CarMapper;
 import be.ucll.se.demo.model.Car;
 import be.ucll.se.demo.model.CarType;
 import be.ucll.se.demo.repository.CarRepository;
+import be.ucll.se.demo.service.CarAvailabilityIndex;
+import be.ucll.se.demo.service.CarCatalogCache;
 import be.ucll.se.demo.service.CarService;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -13,7 +16,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +32,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -35,6 +46,12 @@ class CarServiceTest {
     @Mock
     private CarMapper carMapper;
 
+    @Mock
+    private CarAvailabilityIndex availabilityIndex;
+
+    @Spy
+    private CarCatalogCache catalogCache = new CarCatalogCache(100, 300);
+
     @InjectMocks
     private CarService carService;
 
@@ -53,31 +70,30 @@ class CarServiceTest {
     @Test
     void getAllCarsDTO_ShouldReturnListOfCarDTOs() {
         // Given
-        List<Car> cars = Arrays.asList(testCar, createTestCar());
-        when(carRepository.findAll()).thenReturn(cars);
-        when(carMapper.toDTO(any(Car.class))).thenReturn(testCarDTO);
+        List<CarDTO> cars = Arrays.asList(testCarDTO, createTestCarDTO());
+        when(carRepository.findAllDTOs()).thenReturn(cars);
 
         // When
         List<CarDTO> result = carService.getAllCarsDTO();
 
         // Then
         assertThat(result).hasSize(2);
-        verify(carRepository).findAll();
-        verify(carMapper, times(2)).toDTO(any(Car.class));
+        verify(carRepository).findAllDTOs();
+        verify(carRepository, never()).findAll();
+        verify(carMapper, never()).toDTO(any(Car.class));
     }
 
     @Test
     void getAllCarsDTO_WhenNoCarsExist_ShouldReturnEmptyList() {
         // Given
-        when(carRepository.findAll()).thenReturn(Arrays.asList());
+        when(carRepository.findAllDTOs()).thenReturn(Arrays.asList());
 
         // When
         List<CarDTO> result = carService.getAllCarsDTO();
 
         // Then
         assertThat(result).isEmpty();
-        verify(carRepository).findAll();
-        verify(carMapper, never()).toDTO(any(Car.class));
+        verify(carRepository).findAllDTOs();
     }
 
     // ===== GET CAR BY ID TESTS =====
@@ -221,34 +237,30 @@ class CarServiceTest {
     void getCarsByOwnerEmailDTO_ShouldReturnCarDTOList() {
         // Given
         String email = "test@example.com";
-        List<Car> cars = Arrays.asList(testCar);
-        when(carRepository.findByOwnerEmail(email)).thenReturn(cars);
-        when(carMapper.toDTO(any(Car.class))).thenReturn(testCarDTO);
+        when(carRepository.findDTOsByOwnerEmail(email)).thenReturn(Arrays.asList(testCarDTO));
 
         // When
         List<CarDTO> result = carService.getCarsByOwnerEmailDTO(email);
 
         // Then
-        assertThat(result).hasSize(1);
-        verify(carRepository).findByOwnerEmail(email);
-        verify(carMapper).toDTO(testCar);
+        assertThat(result).containsExactly(testCarDTO);
+        verify(carRepository).findDTOsByOwnerEmail(email);
+        verify(carMapper, never()).toDTO(any(Car.class));
     }
 
     // ===== GET AVAILABLE CARS TESTS =====
     @Test
     void getAvailableCarsDTO_ShouldReturnAvailableCarDTOs() {
         // Given
-        List<Car> availableCars = Arrays.asList(testCar);
-        when(carRepository.findByAvailableForRentTrue()).thenReturn(availableCars);
-        when(carMapper.toDTO(any(Car.class))).thenReturn(testCarDTO);
+        when(carRepository.findAvailableDTOs()).thenReturn(Arrays.asList(testCarDTO));
 
         // When
         List<CarDTO> result = carService.getAvailableCarsDTO();
 
         // Then
-        assertThat(result).hasSize(1);
-        verify(carRepository).findByAvailableForRentTrue();
-        verify(carMapper).toDTO(testCar);
+        assertThat(result).containsExactly(testCarDTO);
+        verify(carRepository).findAvailableDTOs();
+        verify(carMapper, never()).toDTO(any(Car.class));
     }
 
     // ===== GET CARS BY TYPE TESTS =====
@@ -257,17 +269,14 @@ class CarServiceTest {
         // Given
         String type = "sedan";
         CarType carType = CarType.SEDAN;
-        List<Car> cars = Arrays.asList(testCar);
-        when(carRepository.findByType(carType)).thenReturn(cars);
-        when(carMapper.toDTO(any(Car.class))).thenReturn(testCarDTO);
+        when(carRepository.findDTOsByType(carType)).thenReturn(Arrays.asList(testCarDTO));
 
         // When
         List<CarDTO> result = carService.getCarsByTypeDTO(type);
 
         // Then
-        assertThat(result).hasSize(1);
-        verify(carRepository).findByType(carType);
-        verify(carMapper).toDTO(testCar);
+        assertThat(result).containsExactly(testCarDTO);
+        verify(carRepository).findDTOsByType(carType);
     }
 
     @Test
@@ -280,7 +289,7 @@ class CarServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Invalid car type: " + invalidType);
 
-        verify(carRepository, never()).findByType(any());
+        verify(carRepository, never()).findDTOsByType(any());
     }
 
     @Test
@@ -288,16 +297,161 @@ class CarServiceTest {
         // Given
         String type = "suv";
         CarType carType = CarType.SUV;
-        List<Car> cars = Arrays.asList(testCar);
-        when(carRepository.findByType(carType)).thenReturn(cars);
-        when(carMapper.toDTO(any(Car.class))).thenReturn(testCarDTO);
+        when(carRepository.findDTOsByType(carType)).thenReturn(Arrays.asList(testCarDTO));
 
         // When
         List<CarDTO> result = carService.getCarsByTypeDTO(type);
 
         // Then
         assertThat(result).hasSize(1);
-        verify(carRepository).findByType(carType);
+        verify(carRepository).findDTOsByType(carType);
+    }
+
+    // ===== SEARCH CARS TESTS =====
+    @Test
+    void searchCars_OnFirstPage_ShouldReturnTotal() {
+        // Given
+        when(carRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(testCar), invocation.getArgument(1), 42));
+        when(carMapper.toDTO(testCar)).thenReturn(testCarDTO);
+
+        // When
+        PageDTO<CarDTO> result = carService.searchCars(0, 1, "brand,desc", "sedan", 4, null, null, null);
+
+        // Then
+        assertThat(result.getItems()).containsExactly(testCarDTO);
+        assertThat(result.getTotalElements()).isEqualTo(42);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo(String.valueOf(testCar.getId()));
+        verify(carRepository, never()).findSlice(any(), any());
+    }
+
+    @Test
+    void searchCars_WithCursor_ShouldSeekWithoutOffsetOrCount() {
+        // Given
+        Sort sort = Sort.by("brand").and(Sort.by("id"));
+        when(carRepository.findById(41L)).thenReturn(Optional.of(testCar));
+        when(carRepository.findSliceAfter(any(), eq(sort), eq(20), eq(testCar)))
+                .thenReturn(new SliceImpl<>(List.of(testCar), PageRequest.of(0, 20, sort), false));
+        when(carMapper.toDTO(testCar)).thenReturn(testCarDTO);
+
+        // When
+        PageDTO<CarDTO> result = carService.searchCars(7, 20, "brand", null, null, null, null, 41L);
+
+        // Then
+        assertThat(result.getItems()).containsExactly(testCarDTO);
+        assertThat(result.getPage()).isEqualTo(PageDTO.UNKNOWN_PAGE);
+        assertThat(result.getNextCursor()).isNull();
+        verify(carRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verify(carRepository, never()).findSlice(any(), any());
+    }
+
+    @Test
+    void searchCars_OnDeeperPage_ShouldSkipCountQuery() {
+        // Given
+        when(carRepository.findSlice(any(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(testCar), invocation.getArgument(1), true));
+        when(carMapper.toDTO(testCar)).thenReturn(testCarDTO);
+
+        // When
+        PageDTO<CarDTO> result = carService.searchCars(50, 20, "numberOfSeats", null, null, true, 1, null);
+
+        // Then
+        assertThat(result.getPage()).isEqualTo(50);
+        assertThat(result.getTotalElements()).isEqualTo(PageDTO.UNKNOWN_TOTAL);
+        assertThat(result.isHasNext()).isTrue();
+        verify(carRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verify(carRepository).findSlice(any(), eq(PageRequest.of(50, 20, Sort.by("numberOfSeats").and(Sort.by("id")))));
+    }
+
+    @Test
+    void searchCars_WithUnknownCursor_ShouldThrowIllegalArgumentException() {
+        when(carRepository.findById(41L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> carService.searchCars(0, 20, null, null, null, null, null, 41L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+        verify(carRepository, never()).findSliceAfter(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void searchCars_WithUnknownSortProperty_ShouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> carService.searchCars(0, 20, "password", null, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid sort");
+        verifyNoInteractions(carRepository);
+    }
+
+    // ===== CATALOG CACHE TESTS =====
+    @Test
+    void getAllCarsDTO_WhenCalledTwice_ShouldQueryRepositoryOnce() {
+        // Given
+        when(carRepository.findAllDTOs()).thenReturn(List.of(testCarDTO));
+
+        // When
+        carService.getAllCarsDTO();
+        List<CarDTO> result = carService.getAllCarsDTO();
+
+        // Then
+        assertThat(result).containsExactly(testCarDTO);
+        verify(carRepository, times(1)).findAllDTOs();
+        assertThat(catalogCache.getStats().get("catalog").hitCount()).isEqualTo(1);
+        assertThat(catalogCache.getStats().get("catalog").missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getCarByIdDTO_WhenCarDoesNotExist_ShouldNotCacheAbsence() {
+        // Given
+        when(carRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When
+        carService.getCarByIdDTO(999L);
+        carService.getCarByIdDTO(999L);
+
+        // Then
+        verify(carRepository, times(2)).findById(999L);
+    }
+
+    @Test
+    void updateCar_ShouldEvictOnlyEntriesOfThatCar() {
+        // Given: auto 1 (SEDAN) en auto 2 (SUV) zitten in de cache
+        CarDTO otherDTO = createTestCarDTO();
+        otherDTO.setId(2L);
+        otherDTO.setType(CarType.SUV);
+        when(carRepository.findDTOsByType(CarType.SEDAN)).thenReturn(List.of(testCarDTO));
+        when(carRepository.findDTOsByType(CarType.SUV)).thenReturn(List.of(otherDTO));
+        when(carMapper.toDTO(testCar)).thenReturn(testCarDTO);
+        when(carRepository.findById(1L)).thenReturn(Optional.of(testCar));
+        when(carRepository.save(testCar)).thenReturn(testCar);
+        carService.getCarsByTypeDTO("SEDAN");
+        carService.getCarsByTypeDTO("SUV");
+
+        // When
+        carService.updateCar(1L, testCarCreateDTO);
+        carService.getCarsByTypeDTO("SEDAN");
+        carService.getCarsByTypeDTO("SUV");
+
+        // Then
+        verify(carRepository, times(2)).findDTOsByType(CarType.SEDAN);
+        verify(carRepository, times(1)).findDTOsByType(CarType.SUV);
+    }
+
+    @Test
+    void deleteCar_ShouldEvictCachedCar() {
+        // Given
+        when(carRepository.findByLicensePlate("ABC-123")).thenReturn(Optional.of(testCar));
+        when(carMapper.toDTO(testCar)).thenReturn(testCarDTO);
+        when(carRepository.existsById(1L)).thenReturn(true);
+        carService.getCarByLicensePlateDTO("ABC-123");
+
+        // When
+        carService.deleteCar(1L);
+        when(carRepository.findByLicensePlate("ABC-123")).thenReturn(Optional.empty());
+        Optional<CarDTO> result = carService.getCarByLicensePlateDTO("ABC-123");
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(catalogCache).carDeleted(1L);
     }
 
     // ===== LEGACY METHOD TESTS =====
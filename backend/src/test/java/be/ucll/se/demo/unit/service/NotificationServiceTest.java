@@ -0,0 +1,277 @@
+package be.ucll.se.demo.unit.service;
+
+import be.ucll.se.demo.dto.BroadcastResultDTO;
+import be.ucll.se.demo.dto.NotificationDTO;
+import be.ucll.se.demo.dto.NotificationPageDTO;
+import be.ucll.se.demo.model.Notification;
+import be.ucll.se.demo.model.NotificationStatus;
+import be.ucll.se.demo.model.NotificationType;
+import be.ucll.se.demo.repository.NotificationRepository;
+import be.ucll.se.demo.repository.UserRepository;
+import be.ucll.se.demo.service.EmailService;
+import be.ucll.se.demo.service.NotificationService;
+import be.ucll.se.demo.service.NotificationStreamRegistry;
+import be.ucll.se.demo.service.UnreadNotificationCounter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UnreadNotificationCounter unreadCounter;
+
+    @Mock
+    private NotificationStreamRegistry streamRegistry;
+
+    @InjectMocks
+    private NotificationService notificationService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(notificationService, "meterRegistry", meterRegistry);
+        // Echte TransactionTemplate op een gemockte transaction manager: de callbacks lopen gewoon
+        ReflectionTestUtils.setField(notificationService, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(notificationService, "claimSeconds", 300L);
+        ReflectionTestUtils.setField(notificationService, "maxAttempts", 5);
+        ReflectionTestUtils.setField(notificationService, "backoffSeconds", 30L);
+        ReflectionTestUtils.setField(notificationService, "broadcastPageSize", 2);
+        ReflectionTestUtils.setField(notificationService, "retentionFailedDays", 90);
+        ReflectionTestUtils.setField(notificationService, "retentionSentDays", 30);
+        ReflectionTestUtils.setField(notificationService, "cleanupChunkSize", 2);
+    }
+
+    // ===== OUTBOX TESTS =====
+    @Test
+    void createAndSendNotification_ShouldOnlyStorePendingNotification() {
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(i -> i.getArgument(0));
+
+        Notification result = notificationService.createAndSendNotification("renter@example.com",
+                NotificationType.BOOKING_CONFIRMATION, "Boeking bevestigd!", "Tot binnenkort", 1L, "RENT");
+
+        assertThat(result.getStatus()).isEqualTo(NotificationStatus.PENDING);
+        verify(unreadCounter).increment("renter@example.com");
+        verify(streamRegistry).publish(eq("renter@example.com"), any(NotificationDTO.class));
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void dispatchDueNotifications_WhenEmailSucceeds_ShouldMarkSent() {
+        Notification notification = createTestNotification();
+        when(notificationRepository.findDueForDelivery(any(LocalDateTime.class), eq(5), any(Pageable.class)))
+                .thenReturn(List.of(notification));
+        when(notificationRepository.findAllById(List.of(1L))).thenReturn(List.of(notification));
+        // Tijdens het versturen is de notificatie geclaimd: andere instanties slaan ze over
+        when(emailService.sendNotificationEmails(List.of(notification))).thenAnswer(invocation -> {
+            assertThat(notification.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(290));
+            return Map.of();
+        });
+
+        int dispatched = notificationService.dispatchDueNotifications(50);
+
+        assertThat(dispatched).isEqualTo(1);
+        assertThat(notification.getStatus()).isEqualTo(NotificationStatus.SENT);
+        assertThat(notification.getSentAt()).isNotNull();
+        assertThat(notification.getAttempts()).isEqualTo(1);
+        verify(emailService).sendNotificationEmails(List.of(notification));
+        verify(notificationRepository).save(notification);
+        assertThat(meterRegistry.get("notifications.delivery").tag("outcome", "success").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void dispatchDueNotifications_WhenEmailFails_ShouldScheduleRetryWithBackoff() {
+        Notification notification = createTestNotification();
+        notification.setAttempts(2);
+        when(notificationRepository.findDueForDelivery(any(LocalDateTime.class), eq(5), any(Pageable.class)))
+                .thenReturn(List.of(notification));
+        when(emailService.sendNotificationEmails(List.of(notification)))
+                .thenReturn(Map.<Notification, Exception>of(notification, new RuntimeException("SMTP down")));
+        when(notificationRepository.findAllById(List.of(1L))).thenReturn(List.of(notification));
+
+        notificationService.dispatchDueNotifications(50);
+
+        assertThat(notification.getStatus()).isEqualTo(NotificationStatus.FAILED);
+        assertThat(notification.getAttempts()).isEqualTo(3);
+        // Derde poging: 30s * 2^2
+        assertThat(notification.getNextAttemptAt())
+                .isAfter(LocalDateTime.now().plusSeconds(110))
+                .isBefore(LocalDateTime.now().plusSeconds(130));
+    }
+
+    @Test
+    void sendNotification_WhenEmailFails_ShouldMarkFailed() {
+        Notification notification = createTestNotification();
+        doThrow(new RuntimeException("SMTP down")).when(emailService).sendNotificationEmail(notification);
+
+        notificationService.sendNotification(notification);
+
+        assertThat(notification.getStatus()).isEqualTo(NotificationStatus.FAILED);
+        assertThat(notification.getAttempts()).isEqualTo(1);
+        verify(notificationRepository).save(notification);
+        assertThat(meterRegistry.get("notifications.send").tag("outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notifications.delivery").tag("outcome", "failure").counter().count())
+                .isEqualTo(1);
+    }
+
+    // ===== INBOX PAGINATION TESTS =====
+    @Test
+    void getUserNotificationsPage_WhenMoreRowsThanSize_ShouldReturnCursorForNextPage() {
+        Notification first = createTestNotification();
+        Notification second = createTestNotification();
+        second.setId(2L);
+        Notification extra = createTestNotification();
+        extra.setId(3L);
+        when(notificationRepository.findInboxFirstPage(eq("renter@example.com"), any(Pageable.class)))
+                .thenReturn(List.of(first, second, extra));
+        when(notificationRepository.findInboxPageAfter(eq("renter@example.com"), eq(second.getCreatedAt()),
+                eq(2L), any(Pageable.class))).thenReturn(List.of(extra));
+
+        NotificationPageDTO page = notificationService.getUserNotificationsPage("renter@example.com", null, 2);
+        NotificationPageDTO next = notificationService.getUserNotificationsPage("renter@example.com",
+                page.getNextCursor(), 2);
+
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(next.getItems()).extracting("id").containsExactly(3L);
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getUserNotificationsPage_WhenCursorInvalid_ShouldThrowIllegalArgumentException() {
+        assertThatThrownBy(
+                () -> notificationService.getUserNotificationsPage("renter@example.com", "not-a-cursor", 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ===== UNREAD COUNT TESTS =====
+    @Test
+    void getUnreadCount_ShouldUseCounterInsteadOfRepository() {
+        when(unreadCounter.get("renter@example.com")).thenReturn(4L);
+
+        long count = notificationService.getUnreadCount("renter@example.com");
+
+        assertThat(count).isEqualTo(4L);
+        verify(notificationRepository, never()).countUnreadByRecipientEmail(anyString());
+    }
+
+    @Test
+    void markAsRead_WhenNotificationWasUnread_ShouldDecrementCounter() {
+        when(notificationRepository.markAsRead(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(notificationRepository.findRecipientEmailById(1L)).thenReturn(Optional.of("renter@example.com"));
+
+        notificationService.markAsRead(1L);
+
+        verify(unreadCounter).decrement("renter@example.com");
+    }
+
+    @Test
+    void markAsRead_WhenNotificationAlreadyRead_ShouldNotTouchCounter() {
+        when(notificationRepository.markAsRead(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+        notificationService.markAsRead(1L);
+
+        verifyNoInteractions(unreadCounter);
+    }
+
+    @Test
+    void markAllAsRead_ShouldResetCounter() {
+        notificationService.markAllAsRead("renter@example.com");
+
+        verify(notificationRepository).markAllAsReadForUser(eq("renter@example.com"), any(LocalDateTime.class));
+        verify(unreadCounter).reset("renter@example.com");
+    }
+
+    // ===== BROADCAST TESTS =====
+    @Test
+    void broadcastSystemAnnouncement_ShouldInsertOneBatchPerPage() {
+        when(userRepository.findEnabledEmailsAfter(eq(""), any(Pageable.class)))
+                .thenReturn(List.of("a@example.com", "b@example.com"));
+        when(userRepository.findEnabledEmailsAfter(eq("b@example.com"), any(Pageable.class)))
+                .thenReturn(List.of("c@example.com"));
+
+        BroadcastResultDTO result = notificationService.broadcastSystemAnnouncement("Onderhoud", "Zondag offline");
+
+        assertThat(result.getRecipients()).isEqualTo(3);
+        assertThat(result.getBatches()).isEqualTo(2);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        verify(notificationRepository, never()).save(any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void broadcastSystemAnnouncement_WhenNoEnabledUsers_ShouldInsertNothing() {
+        when(userRepository.findEnabledEmailsAfter(eq(""), any(Pageable.class))).thenReturn(List.of());
+
+        BroadcastResultDTO result = notificationService.broadcastSystemAnnouncement("Onderhoud", "Zondag offline");
+
+        assertThat(result.getRecipients()).isZero();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    // ===== CLEANUP TESTS =====
+    @Test
+    void cleanupOldNotifications_ShouldDeleteInChunksPerStatus() {
+        // lenient: dezelfde methode wordt ook voor de andere statussen aangeroepen
+        lenient().when(jdbcTemplate.update(anyString(), eq("FAILED"), any(), eq(2))).thenReturn(2, 1);
+        lenient().when(jdbcTemplate.update(anyString(), eq("SENT"), any(), eq(2))).thenReturn(1);
+
+        Map<NotificationStatus, Integer> deleted = notificationService.cleanupOldNotifications(null);
+
+        assertThat(deleted)
+                .containsEntry(NotificationStatus.FAILED, 3)
+                .containsEntry(NotificationStatus.SENT, 1)
+                .containsEntry(NotificationStatus.PENDING, 0);
+        verify(jdbcTemplate, times(2)).update(anyString(), eq("FAILED"), any(), eq(2));
+        verify(notificationRepository, never()).deleteAll(any());
+    }
+
+    // ===== HELPER METHODS =====
+    private Notification createTestNotification() {
+        Notification notification = new Notification("renter@example.com", NotificationType.BOOKING_CONFIRMATION,
+                "Boeking bevestigd!", "Tot binnenkort", 1L, "RENT");
+        notification.setId(1L);
+        return notification;
+    }
+}
@@ -0,0 +1,77 @@
+package be.ucll.se.demo.unit.service;
+
+import be.ucll.se.demo.dto.NotificationDTO;
+import be.ucll.se.demo.service.NotificationStreamRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class NotificationStreamRegistryTest {
+
+    private NotificationStreamRegistry streamRegistry;
+
+    @BeforeEach
+    void setUp() {
+        streamRegistry = new NotificationStreamRegistry();
+        ReflectionTestUtils.setField(streamRegistry, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(streamRegistry, "queueSize", 2);
+        ReflectionTestUtils.setField(streamRegistry, "maxConnectionsPerUser", 2);
+    }
+
+    @Test
+    void subscribe_ShouldRegisterEmitterPerUser() {
+        SseEmitter emitter = streamRegistry.subscribe("renter@example.com");
+
+        assertThat(emitter).isNotNull();
+        assertThat(streamRegistry.getSubscriberCount("renter@example.com")).isEqualTo(1);
+        assertThat(streamRegistry.getSubscriberCount("other@example.com")).isZero();
+    }
+
+    @Test
+    void subscribe_WhenConnectionLimitReached_ShouldCloseOldestConnection() {
+        streamRegistry.subscribe("renter@example.com");
+        streamRegistry.subscribe("renter@example.com");
+        streamRegistry.subscribe("renter@example.com");
+
+        assertThat(streamRegistry.getSubscriberCount("renter@example.com")).isEqualTo(2);
+    }
+
+    @Test
+    void subscribe_WhenCalledConcurrently_ShouldKeepConnectionLimit() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SseEmitter>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> streamRegistry.subscribe("renter@example.com")));
+            }
+            for (Future<SseEmitter> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(streamRegistry.getSubscriberCount("renter@example.com")).isEqualTo(2);
+    }
+
+    @Test
+    void publish_WithoutSubscribers_ShouldDoNothing() {
+        NotificationDTO notification = new NotificationDTO();
+        notification.setId(1L);
+
+        assertThatCode(() -> streamRegistry.publish("nobody@example.com", notification))
+                .doesNotThrowAnyException();
+        assertThat(streamRegistry.getSubscriberCount("nobody@example.com")).isZero();
+    }
+}
@@ -5,14 +5,16 @@ import be.ucll.se.demo.model.Car;
 import be.ucll.se.demo.model.Rent;
 import be.ucll.se.demo.model.CarType;
 import be.ucll.se.demo.repository.RentRepository;
+import be.ucll.se.demo.service.CarAvailabilityIndex;
 import be.ucll.se.demo.service.RentService;
 import be.ucll.se.demo.service.NotificationService;
 import be.ucll.se.demo.repository.CarRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -39,7 +41,10 @@ class RentServiceTest {
     @Mock
     private NotificationService notificationService;
 
-    @InjectMocks
+    @Mock
+    private CarAvailabilityIndex availabilityIndex;
+
+    private SimpleMeterRegistry meterRegistry;
     private RentService rentService;
 
     private Rent testRent;
@@ -47,6 +52,9 @@ class RentServiceTest {
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rentService = new RentService(rentRepository, carRepository, notificationService, availabilityIndex,
+                meterRegistry);
         testCar = createTestCar(1L);
         testRent = createTestRent(1L, testCar);
     }
@@ -99,13 +107,13 @@ class RentServiceTest {
     // ===== ADD RENT TESTS =====
     @Test
     void addRent_WhenValidRent_ShouldSaveAndReturnRent() {
-        when(carRepository.findById(1L)).thenReturn(Optional.of(testCar));
+        when(carRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCar));
         when(rentRepository.save(testRent)).thenReturn(testRent);
 
         Rent result = rentService.addRent(testRent);
 
         assertThat(result).isEqualTo(testRent);
-        verify(carRepository).findById(1L);
+        verify(carRepository).findByIdForUpdate(1L);
         verify(rentRepository).save(testRent);
         verify(notificationService).notifyOwnerOfNewBooking(testRent);
         verify(notificationService).notifyRenterOfConfirmation(testRent);
@@ -116,13 +124,13 @@ class RentServiceTest {
         Car nonExistentCar = createTestCar(999L);
         testRent.setCar(nonExistentCar);
 
-        when(carRepository.findById(999L)).thenReturn(Optional.empty());
+        when(carRepository.findByIdForUpdate(999L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> rentService.addRent(testRent))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Car with ID 999 does not exist.");
 
-        verify(carRepository).findById(999L);
+        verify(carRepository).findByIdForUpdate(999L);
         verify(rentRepository, never()).save(any());
         verifyNoInteractions(notificationService);
     }
@@ -131,29 +139,58 @@ class RentServiceTest {
     void addRent_WhenStartDateAfterEndDate_ShouldThrowIllegalArgumentException() {
         testRent.setStartDate(LocalDate.now().plusDays(5));
         testRent.setEndDate(LocalDate.now().plusDays(2));
-        when(carRepository.findById(1L)).thenReturn(Optional.of(testCar));
+        when(carRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCar));
 
         assertThatThrownBy(() -> rentService.addRent(testRent))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Start date must be before end date.");
 
-        verify(carRepository).findById(1L);
+        verify(carRepository).findByIdForUpdate(1L);
         verify(rentRepository, never()).save(any());
         verifyNoInteractions(notificationService);
     }
 
+    @Test
+    void addRent_WhenPeriodOverlapsExistingRent_ShouldThrowIllegalArgumentException() {
+        when(carRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCar));
+        when(rentRepository.existsByCarIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                1L, testRent.getEndDate(), testRent.getStartDate())).thenReturn(true);
+
+        assertThatThrownBy(() -> rentService.addRent(testRent))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Car is already booked for this period.");
+
+        verify(rentRepository, never()).save(any());
+        verifyNoInteractions(notificationService, availabilityIndex);
+    }
+
+    @Test
+    void addRent_ShouldRecordTimerPerOutcome() {
+        when(carRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCar));
+        when(rentRepository.save(testRent)).thenReturn(testRent);
+        rentService.addRent(testRent);
+
+        testRent.setStartDate(LocalDate.now().plusDays(5));
+        testRent.setEndDate(LocalDate.now().plusDays(2));
+        assertThatThrownBy(() -> rentService.addRent(testRent)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(meterRegistry.get("rent.create").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("rent.create").tag("outcome", "rejected").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("rent.create").tag("outcome", "error").timer()).isNull();
+    }
+
     @Test
     void addRent_WhenStartDateEqualsEndDate_ShouldNotThrowException() {
         LocalDate sameDate = LocalDate.now().plusDays(1);
         testRent.setStartDate(sameDate);
         testRent.setEndDate(sameDate);
-        when(carRepository.findById(1L)).thenReturn(Optional.of(testCar));
+        when(carRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testCar));
         when(rentRepository.save(testRent)).thenReturn(testRent);
 
         Rent result = rentService.addRent(testRent);
 
         assertThat(result).isEqualTo(testRent);
-        verify(carRepository).findById(1L);
+        verify(carRepository).findByIdForUpdate(1L);
         verify(rentRepository).save(testRent);
         verify(notificationService).notifyOwnerOfNewBooking(testRent);
         verify(notificationService).notifyRenterOfConfirmation(testRent);
@@ -184,6 +221,36 @@ class RentServiceTest {
         verify(rentRepository, never()).deleteById(anyLong());
     }
 
+    // ===== AVAILABILITY TESTS =====
+    @Test
+    void isCarAvailableForPeriod_WhenIndexReady_ShouldNotQueryRepositories() {
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = LocalDate.now().plusDays(3);
+        when(availabilityIndex.isReady()).thenReturn(true);
+        when(availabilityIndex.isAvailable(1L, start, end)).thenReturn(false);
+
+        boolean result = rentService.isCarAvailableForPeriod(1L, start, end);
+
+        assertThat(result).isFalse();
+        verifyNoInteractions(carRepository, rentRepository);
+        assertThat(meterRegistry.get("rent.availability").tag("source", "index").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void isCarAvailableForPeriod_WhenIndexNotReady_ShouldFallBackToRepository() {
+        LocalDate start = LocalDate.now().plusDays(1);
+        LocalDate end = LocalDate.now().plusDays(3);
+        when(availabilityIndex.isReady()).thenReturn(false);
+        when(carRepository.findById(1L)).thenReturn(Optional.of(testCar));
+        when(rentRepository.findByCarAndStartDateLessThanEqualAndEndDateGreaterThanEqual(testCar, end, start))
+                .thenReturn(List.of(testRent));
+
+        boolean result = rentService.isCarAvailableForPeriod(1L, start, end);
+
+        assertThat(result).isFalse();
+        verify(availabilityIndex, never()).isAvailable(anyLong(), any(), any());
+    }
+
     // ===== HELPER METHODS =====
     private Car createTestCar(Long id) {
         Car car = new Car();
@@ -68,31 +68,30 @@ class RentalServiceTest {
     @Test
     void getAllRentalsDTO_ShouldReturnListOfRentalDTOs() {
         // Given
-        List<Rental> rentals = Arrays.asList(testRental, createTestRental());
-        when(rentalRepository.findAll()).thenReturn(rentals);
-        when(rentalMapper.toDTO(any(Rental.class))).thenReturn(testRentalDTO);
+        List<RentalDTO> rentals = Arrays.asList(testRentalDTO, createTestRentalDTO());
+        when(rentalRepository.findAllDTOs()).thenReturn(rentals);
 
         // When
         List<RentalDTO> result = rentalService.getAllRentalsDTO();
 
         // Then
         assertThat(result).hasSize(2);
-        verify(rentalRepository).findAll();
-        verify(rentalMapper, times(2)).toDTO(any(Rental.class));
+        verify(rentalRepository).findAllDTOs();
+        verify(rentalRepository, never()).findAll();
+        verify(rentalMapper, never()).toDTO(any(Rental.class));
     }
 
     @Test
     void getAllRentalsDTO_WhenNoRentalsExist_ShouldReturnEmptyList() {
         // Given
-        when(rentalRepository.findAll()).thenReturn(Arrays.asList());
+        when(rentalRepository.findAllDTOs()).thenReturn(Arrays.asList());
 
         // When
         List<RentalDTO> result = rentalService.getAllRentalsDTO();
 
         // Then
         assertThat(result).isEmpty();
-        verify(rentalRepository).findAll();
-        verify(rentalMapper, never()).toDTO(any(Rental.class));
+        verify(rentalRepository).findAllDTOs();
     }
 
     // ===== GET RENTAL BY ID TESTS =====
@@ -267,17 +266,15 @@ class RentalServiceTest {
     void getRentalsByCarIdDTO_ShouldReturnRentalDTOList() {
         // Given
         Long carId = 1L;
-        List<Rental> rentals = Arrays.asList(testRental);
-        when(rentalRepository.findByCarId(carId)).thenReturn(rentals);
-        when(rentalMapper.toDTO(any(Rental.class))).thenReturn(testRentalDTO);
+        when(rentalRepository.findDTOsByCarId(carId)).thenReturn(Arrays.asList(testRentalDTO));
 
         // When
         List<RentalDTO> result = rentalService.getRentalsByCarIdDTO(carId);
 
         // Then
-        assertThat(result).hasSize(1);
-        verify(rentalRepository).findByCarId(carId);
-        verify(rentalMapper).toDTO(testRental);
+        assertThat(result).containsExactly(testRentalDTO);
+        verify(rentalRepository).findDTOsByCarId(carId);
+        verify(rentalMapper, never()).toDTO(any(Rental.class));
     }
 
     // ===== GET RENTALS BY OWNER EMAIL TESTS =====
@@ -285,17 +282,15 @@ class RentalServiceTest {
     void getRentalsByOwnerEmailDTO_ShouldReturnRentalDTOList() {
         // Given
         String email = "test@example.com";
-        List<Rental> rentals = Arrays.asList(testRental);
-        when(rentalRepository.findByOwnerEmail(email)).thenReturn(rentals);
-        when(rentalMapper.toDTO(any(Rental.class))).thenReturn(testRentalDTO);
+        when(rentalRepository.findDTOsByOwnerEmail(email)).thenReturn(Arrays.asList(testRentalDTO));
 
         // When
         List<RentalDTO> result = rentalService.getRentalsByOwnerEmailDTO(email);
 
         // Then
-        assertThat(result).hasSize(1);
-        verify(rentalRepository).findByOwnerEmail(email);
-        verify(rentalMapper).toDTO(testRental);
+        assertThat(result).containsExactly(testRentalDTO);
+        verify(rentalRepository).findDTOsByOwnerEmail(email);
+        verify(rentalMapper, never()).toDTO(any(Rental.class));
     }
 
     // ===== GET RENTALS BY START DATE TESTS =====
@@ -303,17 +298,15 @@ class RentalServiceTest {
     void getRentalsByStartDateDTO_ShouldReturnRentalDTOList() {
         // Given
         LocalDate startDate = LocalDate.now();
-        List<Rental> rentals = Arrays.asList(testRental);
-        when(rentalRepository.findByStartDate(startDate)).thenReturn(rentals);
-        when(rentalMapper.toDTO(any(Rental.class))).thenReturn(testRentalDTO);
+        when(rentalRepository.findDTOsByStartDate(startDate)).thenReturn(Arrays.asList(testRentalDTO));
 
         // When
         List<RentalDTO> result = rentalService.getRentalsByStartDateDTO(startDate);
 
         // Then
-        assertThat(result).hasSize(1);
-        verify(rentalRepository).findByStartDate(startDate);
-        verify(rentalMapper).toDTO(testRental);
+        assertThat(result).containsExactly(testRentalDTO);
+        verify(rentalRepository).findDTOsByStartDate(startDate);
+        verify(rentalMapper, never()).toDTO(any(Rental.class));
     }
 
     // ===== GET RENTALS BY CITY TESTS =====
@@ -321,17 +314,15 @@ class RentalServiceTest {
     void getRentalsByCityDTO_ShouldReturnRentalDTOList() {
         // Given
         String city = "Brussels";
-        List<Rental> rentals = Arrays.asList(testRental);
-        when(rentalRepository.findByPickupPoint_City(city)).thenReturn(rentals);
-        when(rentalMapper.toDTO(any(Rental.class))).thenReturn(testRentalDTO);
+        when(rentalRepository.findDTOsByCity(city)).thenReturn(Arrays.asList(testRentalDTO));
 
         // When
         List<RentalDTO> result = rentalService.getRentalsByCityDTO(city);
 
         // Then
-        assertThat(result).hasSize(1);
-        verify(rentalRepository).findByPickupPoint_City(city);
-        verify(rentalMapper).toDTO(testRental);
+        assertThat(result).containsExactly(testRentalDTO);
+        verify(rentalRepository).findDTOsByCity(city);
+        verify(rentalMapper, never()).toDTO(any(Rental.class));
     }
 
     // ===== LEGACY METHOD TESTS =====
@@ -0,0 +1,70 @@
+package be.ucll.se.demo.unit.service;
+
+import be.ucll.se.demo.repository.NotificationRepository;
+import be.ucll.se.demo.service.UnreadNotificationCounter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadNotificationCounterTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private UnreadNotificationCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new UnreadNotificationCounter(notificationRepository, 100, 10);
+    }
+
+    @Test
+    void get_ShouldQueryRepositoryOnlyOnMiss() {
+        when(notificationRepository.countUnreadByRecipientEmail("renter@example.com")).thenReturn(3L);
+
+        assertThat(counter.get("renter@example.com")).isEqualTo(3L);
+        assertThat(counter.get("renter@example.com")).isEqualTo(3L);
+
+        verify(notificationRepository, times(1)).countUnreadByRecipientEmail("renter@example.com");
+    }
+
+    @Test
+    void incrementAndDecrement_ShouldUpdateCachedCounter() {
+        when(notificationRepository.countUnreadByRecipientEmail("renter@example.com")).thenReturn(1L);
+        counter.get("renter@example.com");
+
+        counter.increment("renter@example.com");
+        counter.increment("renter@example.com");
+        counter.decrement("renter@example.com");
+
+        assertThat(counter.get("renter@example.com")).isEqualTo(2L);
+    }
+
+    @Test
+    void decrement_ShouldNeverGoBelowZero() {
+        counter.reset("renter@example.com");
+        counter.decrement("renter@example.com");
+
+        assertThat(counter.get("renter@example.com")).isZero();
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void invalidate_ShouldReloadFromRepository() {
+        when(notificationRepository.countUnreadByRecipientEmail("renter@example.com")).thenReturn(1L, 5L);
+        counter.get("renter@example.com");
+
+        counter.invalidate(List.of("renter@example.com"));
+
+        assertThat(counter.get("renter@example.com")).isEqualTo(5L);
+    }
+}
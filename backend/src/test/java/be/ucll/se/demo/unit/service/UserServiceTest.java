@@ -1,6 +1,7 @@
 package be.ucll.se.demo.unit.service;
 
 import be.ucll.se.demo.dto.LoginResponseDTO;
+import be.ucll.se.demo.dto.PageDTO;
 import be.ucll.se.demo.dto.UserDTO;
 import be.ucll.se.demo.dto.UserRoleUpdateDTO;
 import be.ucll.se.demo.model.Role;
@@ -8,15 +9,25 @@ import be.ucll.se.demo.model.RoleName;
 import be.ucll.se.demo.model.User;
 import be.ucll.se.demo.repository.RoleRepository;
 import be.ucll.se.demo.repository.UserRepository;
+import be.ucll.se.demo.service.TokenVersionCache;
+import be.ucll.se.demo.service.UserRoleCache;
 import be.ucll.se.demo.service.UserService;
+import be.ucll.se.demo.util.PasswordHasher;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.nio.charset.StandardCharsets;
@@ -29,6 +40,7 @@ import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,6 +54,16 @@ class UserServiceTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    @Mock
+    private UserRoleCache userRoleCache;
+
+    // Echte hasher met lage BCrypt cost zodat de tests snel blijven
+    @Spy
+    private PasswordHasher passwordHasher = new PasswordHasher("bcrypt", 4, 19456, 2, 2, 64, 5000);
+
     @InjectMocks
     private UserService userService;
 
@@ -76,7 +98,7 @@ class UserServiceTest {
     }
 
     /**
-     * Helper method to hash passwords using SHA-256
+     * Helper method to build a legacy (pre-BCrypt) SHA-256 hex hash
      */
     private String hashPassword(String password) {
         try {
@@ -106,8 +128,7 @@ class UserServiceTest {
         String email = "newuser@example.com";
         String password = "password123";
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(userRepository.existsByUsernameOrEmail(username, email)).thenReturn(false);
 
         // When - using default register method (should default to RENTER)
         boolean result = userService.register(username, email, password);
@@ -122,11 +143,10 @@ class UserServiceTest {
         User savedUser = userCaptor.getValue();
         assertThat(savedUser.getUsername()).isEqualTo(username);
         assertThat(savedUser.getEmail()).isEqualTo(email);
-        assertThat(savedUser.getPassword()).isEqualTo(hashPassword(password)); // Updated to use SHA-256
+        assertThat(passwordHasher.matches(password, savedUser.getPassword())).isTrue();
         assertThat(savedUser.getRoles()).contains(renterRole);
 
-        verify(userRepository).findByUsername(username);
-        verify(userRepository).findByEmail(email);
+        verify(userRepository).existsByUsernameOrEmail(username, email);
         verify(roleRepository).findByName(RoleName.RENTER);
     }
 
@@ -137,8 +157,7 @@ class UserServiceTest {
         String email = "owner@example.com";
         String password = "password123";
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(userRepository.existsByUsernameOrEmail(username, email)).thenReturn(false);
 
         Role ownerRole = new Role();
         ownerRole.setName(RoleName.OWNER);
@@ -154,7 +173,7 @@ class UserServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getUsername()).isEqualTo(username);
         assertThat(result.getEmail()).isEqualTo(email);
-        assertThat(result.getPassword()).isEqualTo(hashPassword(password));
+        assertThat(passwordHasher.matches(password, result.getPassword())).isTrue();
         assertThat(result.getRoles()).contains(ownerRole);
 
         // Verify repository save
@@ -189,14 +208,14 @@ class UserServiceTest {
         String email = "newemail@example.com";
         String password = "password123";
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsByUsernameOrEmail(username, email)).thenReturn(true);
 
         // When
         boolean result = userService.register(username, email, password);
 
         // Then
         assertThat(result).isFalse();
-        verify(userRepository).findByUsername(username);
+        verify(userRepository).existsByUsernameOrEmail(username, email);
         verify(userRepository, never()).save(any());
     }
 
@@ -207,16 +226,14 @@ class UserServiceTest {
         String email = "existing@example.com";
         String password = "password123";
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsByUsernameOrEmail(username, email)).thenReturn(true);
 
         // When
         boolean result = userService.register(username, email, password);
 
         // Then
         assertThat(result).isFalse();
-        verify(userRepository).findByUsername(username);
-        verify(userRepository).findByEmail(email);
+        verify(userRepository).existsByUsernameOrEmail(username, email);
         verify(userRepository, never()).save(any());
     }
 
@@ -227,7 +244,7 @@ class UserServiceTest {
         String username = "testuser";
         String password = testPassword;
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(testUser));
+        when(userRepository.findByEmailOrUsername(username)).thenReturn(List.of(testUser));
 
         // When
         User result = userService.login(username, password);
@@ -235,7 +252,7 @@ class UserServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result).isEqualTo(testUser);
-        verify(userRepository).findByUsername(username);
+        verify(userRepository).findByEmailOrUsername(username);
     }
 
     @Test
@@ -245,14 +262,14 @@ class UserServiceTest {
         String password = testPassword;
         testUser.setEnabled(false); // Disable user
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(testUser));
+        when(userRepository.findByEmailOrUsername(username)).thenReturn(List.of(testUser));
 
         // When
         User result = userService.login(username, password);
 
         // Then
         assertThat(result).isNull();
-        verify(userRepository).findByUsername(username);
+        verify(userRepository).findByEmailOrUsername(username);
     }
 
     @Test
@@ -261,7 +278,7 @@ class UserServiceTest {
         String username = "testuser";
         String password = testPassword;
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(testUser));
+        when(userRepository.findByEmailOrUsername(username)).thenReturn(List.of(testUser));
 
         // When
         LoginResponseDTO result = userService.loginWithRoles(username, password);
@@ -279,14 +296,14 @@ class UserServiceTest {
         String username = "nonexistent";
         String password = "anypassword";
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+        when(userRepository.findByEmailOrUsername(username)).thenReturn(List.of());
 
         // When
         User result = userService.login(username, password);
 
         // Then
         assertThat(result).isNull();
-        verify(userRepository).findByUsername(username);
+        verify(userRepository).findByEmailOrUsername(username);
     }
 
     @Test
@@ -295,14 +312,49 @@ class UserServiceTest {
         String username = "testuser";
         String wrongPassword = "wrongpassword";
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(testUser));
+        when(userRepository.findByEmailOrUsername(username)).thenReturn(List.of(testUser));
 
         // When
         User result = userService.login(username, wrongPassword);
 
         // Then
         assertThat(result).isNull();
-        verify(userRepository).findByUsername(username);
+        verify(userRepository).findByEmailOrUsername(username);
+    }
+
+    @Test
+    void login_WithEmail_ShouldUseSingleLookup() {
+        // Given
+        String email = "test@example.com";
+        String password = "password123";
+        testUser.setPassword(passwordHasher.hash(password));
+
+        when(userRepository.findByEmailOrUsername(email)).thenReturn(List.of(testUser));
+
+        // When
+        User result = userService.login(email, password);
+
+        // Then
+        assertThat(result).isEqualTo(testUser);
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void findByEmailOrUsername_WhenBothMatch_ShouldPreferEmailMatch() {
+        // Given: iemand koos als gebruikersnaam het e-mailadres van een ander account
+        User impostor = createTestUser();
+        impostor.setUserId("impostor-id");
+        impostor.setUsername("test@example.com");
+        impostor.setEmail("impostor@example.com");
+
+        when(userRepository.findByEmailOrUsername("test@example.com")).thenReturn(List.of(impostor, testUser));
+
+        // When
+        User result = userService.findByEmailOrUsername("test@example.com");
+
+        // Then
+        assertThat(result).isEqualTo(testUser);
     }
 
     // ===== ROLE MANAGEMENT TESTS =====
@@ -321,6 +373,8 @@ class UserServiceTest {
 
         // Then
         assertThat(result).isNotNull();
+        verify(tokenVersionCache).update("test@example.com", 1);
+        verify(userRoleCache).invalidate("test@example.com");
         verify(userRepository).findById(userId);
         verify(userRepository).save(testUser);
         verify(roleRepository).findByName(RoleName.OWNER);
@@ -359,15 +413,71 @@ class UserServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(testUser.isEnabled()).isEqualTo(!originalStatus);
+        assertThat(testUser.getTokenVersion()).isEqualTo(1);
+        verify(tokenVersionCache).update("test@example.com", 1);
+        verify(userRoleCache).invalidate("test@example.com");
         verify(userRepository).findById(userId);
         verify(userRepository).save(testUser);
     }
 
+    // ===== TOKEN CLAIM TESTS =====
+    @Test
+    void getRolesFromToken_WhenVersionCurrent_ShouldUseClaimsWithoutDatabase() {
+        // Given
+        Claims claims = tokenClaims(true, 2);
+        when(tokenVersionCache.isCurrent("test@example.com", 2)).thenReturn(true);
+
+        // When
+        Optional<Set<RoleName>> result = userService.getRolesFromToken(claims);
+
+        // Then
+        assertThat(result).contains(Set.of(RoleName.OWNER, RoleName.RENTER));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getRolesFromToken_WhenVersionStale_ShouldReturnEmpty() {
+        // Given
+        Claims claims = tokenClaims(true, 1);
+        when(tokenVersionCache.isCurrent("test@example.com", 1)).thenReturn(false);
+
+        // When & Then
+        assertThat(userService.getRolesFromToken(claims)).isEmpty();
+    }
+
+    @Test
+    void getRolesFromToken_WhenAccountDisabledInToken_ShouldReturnEmpty() {
+        assertThat(userService.getRolesFromToken(tokenClaims(false, 0))).isEmpty();
+        verifyNoInteractions(tokenVersionCache);
+    }
+
+    @Test
+    void getRolesFromToken_WhenTokenHasNoRoleClaims_ShouldFallBackToCachedRoles() {
+        // Given
+        Claims claims = Jwts.claims().setSubject("test@example.com");
+        when(tokenVersionCache.isCurrent("test@example.com", 0)).thenReturn(true);
+        when(userRoleCache.get("test@example.com")).thenReturn(Set.of(RoleName.RENTER));
+
+        // When & Then
+        assertThat(userService.getRolesFromToken(claims)).contains(Set.of(RoleName.RENTER));
+    }
+
+    @Test
+    void getRolesFromToken_WhenTokenHasNoRoleClaimsAndTokensWereRevoked_ShouldReturnEmpty() {
+        // Given: rollen gewijzigd of account uitgeschakeld, dus versie > 0
+        Claims claims = Jwts.claims().setSubject("test@example.com");
+        when(tokenVersionCache.isCurrent("test@example.com", 0)).thenReturn(false);
+
+        // When & Then
+        assertThat(userService.getRolesFromToken(claims)).isEmpty();
+        verifyNoInteractions(userRoleCache);
+    }
+
     @Test
     void getUsersByRole_WhenUsersExist_ShouldReturnUsers() {
         // Given
         List<User> users = List.of(testUser);
-        when(userRepository.findByRole(RoleName.RENTER)).thenReturn(users);
+        when(userRepository.findByRoleWithRoles(RoleName.RENTER)).thenReturn(users);
 
         // When
         List<UserDTO> result = userService.getUsersByRole(RoleName.RENTER);
@@ -375,7 +485,28 @@ class UserServiceTest {
         // Then
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getUsername()).isEqualTo(testUser.getUsername());
-        verify(userRepository).findByRole(RoleName.RENTER);
+        verify(userRepository).findByRoleWithRoles(RoleName.RENTER);
+    }
+
+    @Test
+    void getUsersPage_ShouldKeepPageOrderOfIds() {
+        // Given
+        User other = createTestUser();
+        other.setUserId("other-user-id");
+        other.setUsername("another");
+        Page<String> ids = new PageImpl<>(List.of("test-user-id", "other-user-id"), PageRequest.of(0, 2), 5);
+
+        when(userRepository.findUserIds(any(Pageable.class))).thenReturn(ids);
+        when(userRepository.findAllWithRolesByUserIdIn(ids.getContent())).thenReturn(List.of(other, testUser));
+
+        // When
+        PageDTO<UserDTO> result = userService.getUsersPage(0, 2, null);
+
+        // Then
+        assertThat(result.getItems()).extracting(UserDTO::getUserId).containsExactly("test-user-id", "other-user-id");
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.getTotalPages()).isEqualTo(3);
+        verify(userRepository, never()).findUserIdsByRole(any(), any());
     }
 
     @Test
@@ -410,14 +541,14 @@ class UserServiceTest {
     void getUserRoles_WhenUserExists_ShouldReturnRoles() {
         // Given
         String email = "test@example.com";
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(testUser));
+        when(userRepository.findWithRolesByEmail(email)).thenReturn(Optional.of(testUser));
 
         // When
         Set<RoleName> result = userService.getUserRoles(email);
 
         // Then
         assertThat(result).contains(RoleName.RENTER);
-        verify(userRepository).findByEmail(email);
+        verify(userRepository).findWithRolesByEmail(email);
     }
 
     // ===== FIND BY EMAIL TESTS =====
@@ -458,8 +589,7 @@ class UserServiceTest {
         String email = "integration@example.com";
         String password = "integrationPassword";
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(userRepository.existsByUsernameOrEmail(username, email)).thenReturn(false);
 
         // When - register
         boolean registerResult = userService.register(username, email, password);
@@ -470,7 +600,7 @@ class UserServiceTest {
         User savedUser = userCaptor.getValue();
 
         // Mock the repository to return the saved user for login
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(savedUser));
+        when(userRepository.findByEmailOrUsername(username)).thenReturn(List.of(savedUser));
 
         // When - login
         User loginResult = userService.login(username, password);
@@ -481,20 +611,18 @@ class UserServiceTest {
         assertThat(loginResult.getUsername()).isEqualTo(username);
         assertThat(loginResult.getEmail()).isEqualTo(email);
         // Verify the password was properly hashed during registration
-        assertThat(savedUser.getPassword()).isEqualTo(hashPassword(password));
+        assertThat(passwordHasher.matches(password, savedUser.getPassword())).isTrue();
     }
 
     // ===== PASSWORD HASHING SPECIFIC TESTS =====
     @Test
-    void register_ShouldHashPasswordWithSHA256() {
+    void register_ShouldHashPasswordWithBCrypt() {
         // Given
         String username = "newuser";
         String email = "newuser@example.com";
         String plainPassword = "myPlainPassword123";
-        String expectedHashedPassword = hashPassword(plainPassword);
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(userRepository.existsByUsernameOrEmail(username, email)).thenReturn(false);
 
         // When
         userService.register(username, email, plainPassword);
@@ -504,9 +632,9 @@ class UserServiceTest {
         verify(userRepository).save(userCaptor.capture());
 
         User savedUser = userCaptor.getValue();
-        assertThat(savedUser.getPassword()).isEqualTo(expectedHashedPassword);
+        assertThat(savedUser.getPassword()).startsWith("$2a$04$");
         assertThat(savedUser.getPassword()).isNotEqualTo(plainPassword); // Ensure it's not stored as plain text
-        assertThat(savedUser.getPassword()).hasSize(64); // SHA-256 produces a 64-character hex string
+        assertThat(savedUser.getPassword()).isNotEqualTo(hashPassword(plainPassword));
     }
 
     @Test
@@ -516,7 +644,9 @@ class UserServiceTest {
         String plainPassword = testPassword;
         // testUser already has SHA-256 hashed password from setUp()
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(testUser));
+        when(userRepository.findByEmailOrUsername(username)).thenReturn(List.of(testUser));
+        when(userRepository.updatePasswordHash(eq(testUser.getUserId()), eq(testHashedPassword), anyString()))
+                .thenReturn(1);
 
         // When
         User result = userService.login(username, plainPassword);
@@ -524,8 +654,29 @@ class UserServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result).isEqualTo(testUser);
-        // The service should have successfully verified the plain password against the
-        // stored hash
+        // The legacy hash is replaced by a BCrypt hash on successful login, via a targeted update
+        assertThat(testUser.getPassword()).startsWith("$2a$04$");
+        assertThat(passwordHasher.matches(plainPassword, testUser.getPassword())).isTrue();
+        verify(userRepository).updatePasswordHash(eq(testUser.getUserId()), eq(testHashedPassword), anyString());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void login_WhenHashAlreadyCurrent_ShouldNotRehash() {
+        // Given
+        String username = "testuser";
+        String currentHash = passwordHasher.hash(testPassword);
+        testUser.setPassword(currentHash);
+
+        when(userRepository.findByEmailOrUsername(username)).thenReturn(List.of(testUser));
+
+        // When
+        User result = userService.login(username, testPassword);
+
+        // Then
+        assertThat(result).isEqualTo(testUser);
+        assertThat(testUser.getPassword()).isEqualTo(currentHash);
+        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -534,7 +685,7 @@ class UserServiceTest {
         String username = "testuser";
         String wrongPassword = "wrongPassword123";
 
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(testUser));
+        when(userRepository.findByEmailOrUsername(username)).thenReturn(List.of(testUser));
 
         // When
         User result = userService.login(username, wrongPassword);
@@ -544,6 +695,14 @@ class UserServiceTest {
     }
 
     // ===== HELPER METHODS =====
+    private Claims tokenClaims(boolean enabled, int version) {
+        Claims claims = Jwts.claims().setSubject("test@example.com");
+        claims.put("roles", List.of("OWNER", "RENTER"));
+        claims.put("enabled", enabled);
+        claims.put("ver", version);
+        return claims;
+    }
+
     private User createTestUser() {
         User user = new User();
         user.setUserId("test-user-id");
@@ -0,0 +1,113 @@
+package be.ucll.se.demo.unit.util;
+
+import be.ucll.se.demo.config.JwtConfig;
+import be.ucll.se.demo.model.RoleName;
+import be.ucll.se.demo.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "testSecretKeyForTestingPurposesOnly123456789";
+
+    private JwtUtil jwtUtil;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        JwtConfig config = new JwtConfig();
+        ReflectionTestUtils.setField(config, "secret", SECRET);
+        ReflectionTestUtils.setField(config, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(config, "claimsCacheMaxSize", 100L);
+
+        meterRegistry = new SimpleMeterRegistry();
+        jwtUtil = new JwtUtil(config, meterRegistry);
+        jwtUtil.init();
+    }
+
+    @Test
+    void parse_WhenTokenValid_ShouldReturnClaims() {
+        String token = jwtUtil.generateToken("renter@example.com");
+
+        Optional<Claims> claims = jwtUtil.parse(token);
+
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo("renter@example.com");
+        assertThat(jwtUtil.validateToken(token)).isTrue();
+        assertThat(jwtUtil.getUsernameFromToken(token)).isEqualTo("renter@example.com");
+    }
+
+    @Test
+    void generateToken_WithRoles_ShouldEmbedRoleStatusAndVersionClaims() {
+        String token = jwtUtil.generateToken("owner@example.com", Set.of(RoleName.OWNER, RoleName.RENTER), true, 3);
+
+        Claims claims = jwtUtil.parse(token).orElseThrow();
+
+        assertThat(JwtUtil.getRoles(claims)).containsExactlyInAnyOrder(RoleName.OWNER, RoleName.RENTER);
+        assertThat(claims.get(JwtUtil.ENABLED_CLAIM, Boolean.class)).isTrue();
+        assertThat(claims.get(JwtUtil.VERSION_CLAIM, Integer.class)).isEqualTo(3);
+    }
+
+    @Test
+    void getRoles_WhenTokenHasNoRoleClaim_ShouldReturnNull() {
+        Claims claims = jwtUtil.parse(jwtUtil.generateToken("renter@example.com")).orElseThrow();
+
+        assertThat(JwtUtil.getRoles(claims)).isNull();
+    }
+
+    @Test
+    void parse_WhenCalledTwice_ShouldReuseVerifiedClaims() {
+        String token = jwtUtil.generateToken("renter@example.com");
+
+        Claims first = jwtUtil.parse(token).orElseThrow();
+        Claims second = jwtUtil.parse(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("jwt.validation").tag("result", "valid").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwt.validation").tag("result", "cached").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwt.verify").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void parse_WhenSignatureInvalid_ShouldReturnEmpty() {
+        String forged = Jwts.builder()
+                .setSubject("admin@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("anotherSecretKeyThatIsAlsoLongEnough12345".getBytes()),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(jwtUtil.parse(forged)).isEmpty();
+        assertThat(jwtUtil.getUsernameFromToken(forged)).isNull();
+    }
+
+    @Test
+    void parse_WhenTokenExpired_ShouldReturnEmpty() {
+        String expired = Jwts.builder()
+                .setSubject("renter@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() - 1_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(jwtUtil.parse(expired)).isEmpty();
+    }
+
+    @Test
+    void parse_WhenTokenBlank_ShouldReturnEmpty() {
+        assertThat(jwtUtil.parse(null)).isEmpty();
+        assertThat(jwtUtil.parse(" ")).isEmpty();
+    }
+}
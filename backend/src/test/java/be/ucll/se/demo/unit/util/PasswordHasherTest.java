@@ -0,0 +1,92 @@
+package be.ucll.se.demo.unit.util;
+
+import be.ucll.se.demo.exception.PasswordHasherBusyException;
+import be.ucll.se.demo.util.PasswordHasher;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHasherTest {
+
+    // SHA-256 hex van "password123", zoals de oude UserService het opsloeg
+    private static final String LEGACY_HASH = "ef92b778bafe771e89245b89ecbc08a44a4e166c06659911881f383d4473e94f";
+
+    private final PasswordHasher passwordHasher = new PasswordHasher("bcrypt", 4, 19456, 2, 2, 64, 5000);
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void hash_ShouldProduceSaltedBCryptHash() {
+        String first = passwordHasher.hash("password123");
+        String second = passwordHasher.hash("password123");
+
+        assertThat(first).startsWith("$2a$04$").isNotEqualTo(second);
+        assertThat(passwordHasher.matches("password123", first)).isTrue();
+        assertThat(passwordHasher.matches("wrong", first)).isFalse();
+    }
+
+    @Test
+    void matches_WhenLegacySha256Hash_ShouldVerifyAndRequireRehash() {
+        assertThat(passwordHasher.matches("password123", LEGACY_HASH)).isTrue();
+        assertThat(passwordHasher.matches("password124", LEGACY_HASH)).isFalse();
+        assertThat(passwordHasher.needsRehash(LEGACY_HASH)).isTrue();
+    }
+
+    @Test
+    void needsRehash_WhenCostLowerThanConfigured_ShouldReturnTrue() {
+        PasswordHasher stronger = new PasswordHasher("bcrypt", 5, 19456, 2, 1, 8, 5000);
+        try {
+            assertThat(stronger.needsRehash(passwordHasher.hash("password123"))).isTrue();
+            assertThat(stronger.needsRehash(stronger.hash("password123"))).isFalse();
+        } finally {
+            stronger.shutdown();
+        }
+    }
+
+    @Test
+    void matches_WhenUnknownHashFormat_ShouldReturnFalse() {
+        assertThat(passwordHasher.matches("password123", "plaintext")).isFalse();
+        assertThat(passwordHasher.matches("password123", null)).isFalse();
+    }
+
+    @Test
+    void matches_WhenQueueFull_ShouldRejectInsteadOfQueueing() throws Exception {
+        PasswordHasher tiny = new PasswordHasher("bcrypt", 12, 19456, 2, 1, 1, 30_000);
+        String storedHash = new BCryptPasswordEncoder(12).encode("x");
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> tiny.matches("x", storedHash)));
+            }
+
+            int rejected = 0;
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(PasswordHasherBusyException.class);
+                    rejected++;
+                }
+            }
+            // 1 worker + 1 wachtrijplaats: de rest wordt meteen geweigerd
+            assertThat(rejected).isGreaterThanOrEqualTo(6);
+        } finally {
+            callers.shutdownNow();
+            tiny.shutdown();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package be.ucll.se.demo.unit.util;
+
+import be.ucll.se.demo.util.RequestDiagnostics;
+import be.ucll.se.demo.util.RequestDiagnosticsFilter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestDiagnosticsFilterTest {
+
+    // ===== SAMPLING TESTS =====
+    @Test
+    void doFilter_WhenDisabled_ShouldNotActivateDiagnostics() throws Exception {
+        RequestDiagnosticsFilter filter = new RequestDiagnosticsFilter(false, 1.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rents/renter/renter@example.com");
+        request.addHeader(RequestDiagnosticsFilter.FORCE_HEADER, "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean active = new AtomicBoolean(true);
+
+        filter.doFilter(request, response, (req, res) -> active.set(RequestDiagnostics.isActive()));
+
+        assertThat(active).isFalse();
+        assertThat(response.getHeader(RequestDiagnosticsFilter.REQUEST_ID_HEADER)).isNull();
+    }
+
+    @Test
+    void doFilter_WhenSampled_ShouldActivateDiagnosticsForThisRequestOnly() throws Exception {
+        RequestDiagnosticsFilter filter = new RequestDiagnosticsFilter(true, 1.0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean active = new AtomicBoolean();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/rents"), response, (req, res) -> {
+            active.set(RequestDiagnostics.isActive());
+            RequestDiagnostics.record("rents.by-renter", "results", 2);
+        });
+
+        assertThat(active).isTrue();
+        assertThat(response.getHeader(RequestDiagnosticsFilter.REQUEST_ID_HEADER)).isNotBlank();
+        assertThat(RequestDiagnostics.isActive()).isFalse();
+    }
+
+    @Test
+    void doFilter_WhenSampleRateZero_ShouldOnlySampleForcedRequests() throws Exception {
+        RequestDiagnosticsFilter filter = new RequestDiagnosticsFilter(true, 0.0);
+        AtomicBoolean active = new AtomicBoolean(true);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/rents"), new MockHttpServletResponse(),
+                (req, res) -> active.set(RequestDiagnostics.isActive()));
+        assertThat(active).isFalse();
+
+        MockHttpServletRequest forced = new MockHttpServletRequest("GET", "/rents");
+        forced.addHeader(RequestDiagnosticsFilter.FORCE_HEADER, "true");
+        filter.doFilter(forced, new MockHttpServletResponse(),
+                (req, res) -> active.set(RequestDiagnostics.isActive()));
+        assertThat(active).isTrue();
+    }
+
+    @Test
+    void doFilter_WhenChainThrows_ShouldStillClearDiagnostics() {
+        RequestDiagnosticsFilter filter = new RequestDiagnosticsFilter(true, 1.0);
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("GET", "/rents"),
+                new MockHttpServletResponse(), (req, res) -> {
+                    throw new IllegalStateException("boom");
+                })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(RequestDiagnostics.isActive()).isFalse();
+    }
+
+    @Test
+    void record_WhenNotSampled_ShouldBeNoOp() {
+        RequestDiagnostics.record("rents.by-renter", "results", 1);
+
+        assertThat(RequestDiagnostics.isActive()).isFalse();
+    }
+
+    @Test
+    void constructor_WhenSampleRateOutOfRange_ShouldThrow() {
+        assertThatThrownBy(() -> new RequestDiagnosticsFilter(true, 1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}